@@ -13,6 +13,8 @@ public class SimplecrmApplication {
         System.setProperty("DB_URL", dotenv.get("DB_URL"));
         System.setProperty("DB_USERNAME", dotenv.get("DB_USERNAME"));
         System.setProperty("DB_PASSWORD", dotenv.get("DB_PASSWORD"));
+        // The reactive read API uses the same database through R2DBC
+        System.setProperty("R2DBC_URL", dotenv.get("R2DBC_URL", dotenv.get("DB_URL").replaceFirst("^jdbc:", "r2dbc:")));
 
         SpringApplication.run(SimplecrmApplication.class, args);
     }
@@ -1,5 +1,6 @@
 package com.example.simplecrm.api;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -13,4 +14,8 @@ public class ApiResponse<T> {
     private int status;
     private String message;
     private T data;
+
+    /** Opaque cursor for the next page of a paginated list; absent on the last page and on non-list responses. */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
 }
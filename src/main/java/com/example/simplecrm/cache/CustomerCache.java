@@ -0,0 +1,69 @@
+package com.example.simplecrm.cache;
+
+import com.example.simplecrm.dto.CustomerResponseDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Bounded, W-TinyLFU cache of customer DTOs keyed by id.
+ * <p>
+ * A load runs inside the cache's per-key compute, and {@link #invalidate(Long)} blocks on that compute
+ * before removing the entry. A fill that read the row before a write committed is therefore always
+ * removed by the write's invalidation, never left behind it. Inside a transaction the entry is dropped
+ * again when the transaction completes, so readers cannot re-cache the pre-commit row in between.
+ */
+@Component
+public class CustomerCache {
+
+    private final Cache<Long, CustomerResponseDTO> cache;
+
+    public CustomerCache(@Value("${simplecrm.cache.customers.maximum-size:100000}") long maximumSize,
+                         @Value("${simplecrm.cache.customers.ttl:5m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached customer or loads it. Concurrent misses for the same id share one load;
+     * exceptions thrown by the loader propagate and nothing is cached.
+     */
+    public CustomerResponseDTO get(Long id, Function<Long, CustomerResponseDTO> loader) {
+        return cache.get(id, loader);
+    }
+
+    /** The cached customer, or {@code null} without loading it. */
+    public CustomerResponseDTO getIfPresent(Long id) {
+        return cache.getIfPresent(id);
+    }
+
+    public void invalidate(Long id) {
+        cache.invalidate(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(id);
+                }
+            });
+        }
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+}
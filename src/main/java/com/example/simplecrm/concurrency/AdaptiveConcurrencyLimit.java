@@ -0,0 +1,75 @@
+package com.example.simplecrm.concurrency;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Concurrency limit that follows response time (additive increase, multiplicative decrease). While
+ * responses stay under the latency target and at least half the limit is in use, each response raises
+ * the limit by {@code 1/limit}, about one per limit's worth of requests. A slower response multiplies
+ * it by the backoff factor, at most once per latency target so a burst of slow responses counts once.
+ */
+class AdaptiveConcurrencyLimit {
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong limitBits;
+    private final AtomicLong lastDecrease = new AtomicLong(System.nanoTime());
+    private final double minLimit;
+    private final double maxLimit;
+    private final long latencyTargetNanos;
+    private final double backoff;
+
+    AdaptiveConcurrencyLimit(AdmissionControlProperties.Concurrency settings) {
+        this.minLimit = settings.getMinLimit();
+        this.maxLimit = settings.getMaxLimit();
+        this.latencyTargetNanos = settings.getLatencyTarget().toNanos();
+        this.backoff = settings.getBackoff();
+        this.limitBits = new AtomicLong(Double.doubleToLongBits(
+                Math.min(maxLimit, Math.max(minLimit, settings.getInitialLimit()))));
+    }
+
+    boolean tryAcquire() {
+        if (inFlight.incrementAndGet() > limit()) {
+            inFlight.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    void release(long latencyNanos, long now) {
+        int used = inFlight.getAndDecrement();
+        if (latencyNanos > latencyTargetNanos) {
+            long last = lastDecrease.get();
+            if (now - last >= latencyTargetNanos && lastDecrease.compareAndSet(last, now)) {
+                update(limit -> Math.max(minLimit, limit * backoff));
+            }
+        } else {
+            update(limit -> used * 2 >= limit ? Math.min(maxLimit, limit + 1 / limit) : limit);
+        }
+    }
+
+    /** Gives back a slot without a latency sample, leaving the limit as it is. */
+    void release() {
+        inFlight.decrementAndGet();
+    }
+
+    int limit() {
+        return (int) Double.longBitsToDouble(limitBits.get());
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    private void update(DoubleUnaryOperator change) {
+        while (true) {
+            long current = limitBits.get();
+            double limit = Double.longBitsToDouble(current);
+            double next = change.applyAsDouble(limit);
+            if (next == limit || limitBits.compareAndSet(current, Double.doubleToLongBits(next))) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.simplecrm.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sheds API requests before they reach the connection pool instead of letting them queue. Each client,
+ * identified by API key or address, has a token bucket per route; a client over its rate gets 429. All
+ * admitted requests share an {@link AdaptiveConcurrencyLimit} that shrinks as responses slow down; a
+ * request over it gets 503. Both carry Retry-After.
+ * <p>
+ * An async request, such as a streamed export, keeps its concurrency slot until its response is complete
+ * but gives no latency sample: how long a stream runs depends on its size, not on how loaded the server
+ * is. Order change feed long-polls wait on purpose and without a connection, so they are rate limited
+ * only and take no slot.
+ * <p>
+ * Runs right after the observation filter, so shed requests still show up in {@code http.server.requests},
+ * and before everything else, including {@link ConnectionPoolLimiterFilter} when both are enabled.
+ */
+@Component
+@ConditionalOnProperty(name = "simplecrm.admission.enabled", havingValue = "true")
+@EnableConfigurationProperties(AdmissionControlProperties.class)
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final String DEFAULT_ROUTE = "default";
+    private static final String ORDER_CHANGES = "/api/orders/changes";
+
+    private final String apiKeyHeader;
+    private final List<Route> routes = new ArrayList<>();
+    private final Route defaultRoute;
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
+    private final MeterRegistry meterRegistry;
+
+    public AdmissionControlFilter(AdmissionControlProperties properties, MeterRegistry meterRegistry) {
+        this.apiKeyHeader = properties.getApiKeyHeader();
+        this.meterRegistry = meterRegistry;
+        for (AdmissionControlProperties.Route route : properties.getRoutes()) {
+            double rate = route.getRate() > 0 ? route.getRate() : properties.getRate();
+            int burst = route.getBurst() > 0 ? route.getBurst() : properties.getBurst();
+            routes.add(new Route(
+                    StringUtils.hasText(route.getName()) ? route.getName() : route.getPattern(),
+                    StringUtils.hasText(route.getMethod()) ? route.getMethod() : null,
+                    PathPatternParser.defaultInstance.parse(route.getPattern()),
+                    new RateLimiter(rate, burst, properties.getMaxClients())));
+        }
+        this.defaultRoute = new Route(DEFAULT_ROUTE, null, null,
+                new RateLimiter(properties.getRate(), properties.getBurst(), properties.getMaxClients()));
+        this.concurrencyLimit = new AdaptiveConcurrencyLimit(properties.getConcurrency());
+
+        Gauge.builder("simplecrm.admission.concurrency_limit", concurrencyLimit, AdaptiveConcurrencyLimit::limit)
+                .description("Current adaptive limit on concurrently admitted API requests")
+                .register(meterRegistry);
+        Gauge.builder("simplecrm.admission.in_flight", concurrencyLimit, AdaptiveConcurrencyLimit::inFlight)
+                .description("API requests currently admitted")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Route route = route(request);
+        long start = System.nanoTime();
+
+        long waitNanos = route.limiter().tryAcquire(client(request), start);
+        if (waitNanos > 0) {
+            shed(route, "rate_limit");
+            long retryAfterSeconds = TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1);
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), "Request rate limit exceeded");
+            return;
+        }
+        if (request.getRequestURI().equals(ORDER_CHANGES)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (!concurrencyLimit.tryAcquire()) {
+            shed(route, "concurrency");
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Server is at capacity");
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                RequestCompletion.whenComplete(request, concurrencyLimit::release);
+            } else {
+                long end = System.nanoTime();
+                concurrencyLimit.release(end - start, end);
+            }
+        }
+    }
+
+    private Route route(HttpServletRequest request) {
+        if (routes.isEmpty()) {
+            return defaultRoute;
+        }
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        for (Route route : routes) {
+            if ((route.method() == null || route.method().equalsIgnoreCase(request.getMethod()))
+                    && route.pattern().matches(path)) {
+                return route;
+            }
+        }
+        return defaultRoute;
+    }
+
+    private String client(HttpServletRequest request) {
+        String apiKey = request.getHeader(apiKeyHeader);
+        return StringUtils.hasText(apiKey) ? "key:" + apiKey : "ip:" + request.getRemoteAddr();
+    }
+
+    private void shed(Route route, String reason) {
+        Counter.builder("simplecrm.admission.shed")
+                .description("API requests refused by admission control, by route and reason")
+                .tag("route", route.name())
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private record Route(String name, String method, PathPattern pattern, RateLimiter limiter) {
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.simplecrm.concurrency;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Settings of {@link AdmissionControlFilter}, under {@code simplecrm.admission}. */
+@Getter
+@Setter
+@ConfigurationProperties("simplecrm.admission")
+public class AdmissionControlProperties {
+
+    /** Sustained requests per second per client on routes without a rule of their own. */
+    private double rate = 50;
+    /** Requests a client may send at once on top of the sustained rate. */
+    private int burst = 100;
+    /** Header identifying a client; clients without it are identified by their address. */
+    private String apiKeyHeader = "X-API-Key";
+    /** Clients tracked per route; beyond that new clients share one bucket until idle ones expire. */
+    private int maxClients = 100_000;
+    /** Per-route rate limits, first match wins. */
+    private List<Route> routes = new ArrayList<>();
+    private Concurrency concurrency = new Concurrency();
+
+    @Getter
+    @Setter
+    public static class Route {
+        private String name;
+        /** HTTP method, or any method when empty. */
+        private String method;
+        /** Path pattern, e.g. {@code /api/customers/**}. */
+        private String pattern;
+        /** Requests per second per client; the global rate when not set. */
+        private double rate;
+        /** The global burst when not set. */
+        private int burst;
+    }
+
+    @Getter
+    @Setter
+    public static class Concurrency {
+        private int initialLimit = 20;
+        private int minLimit = 4;
+        private int maxLimit = 200;
+        /** Responses slower than this shrink the limit, faster ones let it grow. */
+        private Duration latencyTarget = Duration.ofMillis(250);
+        /** Factor the limit is multiplied by on a slow response, at most once per latency target. */
+        private double backoff = 0.9;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.simplecrm.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lets at most as many API requests run as there are pooled connections. With open-in-view each
+ * request holds at most one connection, so nothing waits inside Hikari; excess requests wait here,
+ * in FIFO order, which on virtual threads costs a parked continuation instead of a platform thread.
+ * Requests that cannot get a permit within the timeout are answered with 503 and Retry-After.
+ * <p>
+ * An async request, such as a streamed export, keeps its permit until its response is complete, since
+ * it holds its connection until then. The order change feed is not limited: its long-polls wait without
+ * a connection and read through short JDBC calls of their own.
+ */
+@Component
+@ConditionalOnProperty(name = "simplecrm.db-limiter.enabled", havingValue = "true")
+public class ConnectionPoolLimiterFilter extends OncePerRequestFilter {
+
+    private static final String ORDER_CHANGES = "/api/orders/changes";
+
+    private final Semaphore permits;
+    private final long acquireTimeoutNanos;
+    private final Counter rejected;
+
+    public ConnectionPoolLimiterFilter(
+            @Value("${simplecrm.db-limiter.permits:${spring.datasource.hikari.maximum-pool-size:10}}") int permits,
+            @Value("${simplecrm.db-limiter.acquire-timeout:2s}") Duration acquireTimeout,
+            MeterRegistry meterRegistry) {
+        this.permits = new Semaphore(permits, true);
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+        this.rejected = Counter.builder("simplecrm.db_limiter.rejected")
+                .description("Requests rejected because no connection-pool permit became free in time")
+                .register(meterRegistry);
+        Gauge.builder("simplecrm.db_limiter.waiting", this.permits, Semaphore::getQueueLength)
+                .description("Requests waiting for a connection-pool permit")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        // Reactive reads go through R2DBC and never take a JDBC connection
+        return !uri.startsWith("/api/") || uri.startsWith("/api/reactive/") || uri.equals(ORDER_CHANGES);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            rejected.increment();
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Database capacity exhausted");
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestCompletion.whenComplete(request, permits::release);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.simplecrm.concurrency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets per client, kept as the generic cell rate algorithm: each client is one {@link AtomicLong}
+ * holding the time its bucket will be full again, advanced with a single CAS per request. The map is
+ * only written when a client is first seen, so clients do not contend with each other.
+ * <p>
+ * A bucket left alone for the burst period is full and indistinguishable from a new one, so it expires
+ * after that long without a request; Caffeine removes it during its own maintenance, not by scanning on
+ * the request path. While {@code maxClients} buckets are tracked, new clients share one overflow bucket
+ * instead of growing the map further.
+ */
+class RateLimiter {
+
+    private static final String OVERFLOW = "";
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final int maxClients;
+    private final Cache<String, AtomicLong> fullAt;
+
+    RateLimiter(double ratePerSecond, int burst, int maxClients) {
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / ratePerSecond));
+        this.burstNanos = intervalNanos * Math.max(1, burst);
+        this.maxClients = maxClients;
+        this.fullAt = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofNanos(burstNanos))
+                .build();
+    }
+
+    /** Takes a token for the client: 0 when admitted, otherwise the nanoseconds until one is available. */
+    long tryAcquire(String client, long now) {
+        AtomicLong bucket = bucket(client, now);
+        while (true) {
+            long current = bucket.get();
+            long next = Math.max(current, now) + intervalNanos;
+            long allowedAt = next - burstNanos;
+            if (allowedAt > now) {
+                return allowedAt - now;
+            }
+            if (bucket.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    long clients() {
+        return fullAt.estimatedSize();
+    }
+
+    private AtomicLong bucket(String client, long now) {
+        AtomicLong bucket = fullAt.getIfPresent(client);
+        if (bucket != null) {
+            return bucket;
+        }
+        return fullAt.get(fullAt.estimatedSize() >= maxClients ? OVERFLOW : client, key -> new AtomicLong(now));
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.simplecrm.concurrency;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs a callback once the work of a request is over. For an ordinary request that is when the filter
+ * chain returns. When the handler started async processing (a streamed export, a deferred result) the
+ * chain returns early and the response is finished on another thread, so the callback runs from an
+ * {@link AsyncListener} when the request completes, fails or times out, exactly once.
+ */
+final class RequestCompletion {
+
+    private RequestCompletion() {
+    }
+
+    /** Call after the filter chain has returned. */
+    static void whenComplete(HttpServletRequest request, Runnable callback) {
+        if (request.isAsyncStarted()) {
+            request.getAsyncContext().addListener(new Listener(callback));
+        } else {
+            callback.run();
+        }
+    }
+
+    private static final class Listener implements AsyncListener {
+
+        private final AtomicBoolean done = new AtomicBoolean();
+        private final Runnable callback;
+
+        private Listener(Runnable callback) {
+            this.callback = callback;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            finish();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            finish();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            finish();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Listeners are dropped when async processing is restarted; stay registered for the new cycle
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void finish() {
+            if (done.compareAndSet(false, true)) {
+                callback.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.simplecrm.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Runs at most one load per key at a time and hands its result, or its exception, to every caller that
+ * asks for the same key while it is in flight. The first caller loads on its own thread; the others
+ * wait on its future. The map is only touched to publish and retire the future, never while loading,
+ * so callers for other keys are not held up and no lock is taken around the load itself.
+ * <p>
+ * Nothing is kept once a load completes. {@link #forget(Object)} retires the current flight so that
+ * callers arriving after a write start a fresh load instead of joining one that may have read the
+ * row before the write; inside a transaction this is repeated when the transaction completes.
+ * <p>
+ * Publishes {@code simplecrm.single_flight.loads}, tagged with the flight name and whether the caller
+ * ran the load ({@code outcome=leader}) or joined one already in flight ({@code outcome=coalesced}).
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter coalesced;
+
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.leaders = loadCounter(name, "leader", meterRegistry);
+        this.coalesced = loadCounter(name, "coalesced", meterRegistry);
+    }
+
+    /** Result of the load in flight for {@code key}, or of a new {@code loader} call if there is none. */
+    public V load(K key, Function<K, V> loader) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, flight);
+        if (running != null) {
+            coalesced.increment();
+            return await(running);
+        }
+        leaders.increment();
+        try {
+            V value = loader.apply(key);
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /** Stops new callers from joining the load currently in flight for {@code key}, if any. */
+    public void forget(K key) {
+        inFlight.remove(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    inFlight.remove(key);
+                }
+            });
+        }
+    }
+
+    /** Number of loads currently in flight. */
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    private static <V> V await(CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static Counter loadCounter(String name, String outcome, MeterRegistry meterRegistry) {
+        return Counter.builder("simplecrm.single_flight.loads")
+                .description("Loads run by a caller (leader) or shared with a caller already loading the same key (coalesced)")
+                .tag("name", name)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.simplecrm.config;
+
+import com.example.simplecrm.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.jdbc.metadata.DataSourcePoolMetadataProvidersConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Spring Boot skips its JDBC DataSource once an R2DBC ConnectionFactory exists, but JPA, Flyway and the
+ * blocking API still run on JDBC. The primary is the same Hikari pool Boot would have built from
+ * {@code spring.datasource.*}.
+ * <p>
+ * Connections are fetched lazily, on the first statement rather than when a transaction begins, so a
+ * read-only transaction that is answered from the customer cache never takes one. With
+ * {@code simplecrm.datasource.replica.url} set, read-only transactions are served by a second pool
+ * on the replica (see {@link com.example.simplecrm.datasource.ReadRouting} for the opt-out).
+ */
+@Configuration
+@EnableConfigurationProperties(DataSourceProperties.class)
+@Import(DataSourcePoolMetadataProvidersConfiguration.class)
+public class DataSourceConfig {
+
+    private static final String REPLICA = "simplecrm.datasource.replica";
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties, Environment environment,
+                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        Binder binder = Binder.get(environment);
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+
+        String replicaUrl = binder.bind(REPLICA + ".url", String.class).orElse(null);
+        if (replicaUrl == null) {
+            return new PoolOwningDataSource(primary, List.of(primary));
+        }
+        HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(replicaUrl)
+                .username(binder.bind(REPLICA + ".username", String.class).orElse(properties.determineUsername()))
+                .password(binder.bind(REPLICA + ".password", String.class).orElse(properties.determinePassword()))
+                .build();
+        replica.setPoolName("replica");
+        replica.setReadOnly(true);
+        binder.bind(REPLICA + ".hikari", Bindable.ofInstance(replica));
+        // Boot only instruments pools it finds as beans
+        meterRegistry.ifAvailable(registry -> replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+        return new PoolOwningDataSource(new ReplicaRoutingDataSource(primary, replica), List.of(primary, replica));
+    }
+
+    /**
+     * Open-in-view keeps one Hibernate session per request, which by default holds on to its first
+     * connection. A request that reads and then writes would send the write to the replica; releasing
+     * the connection after every transaction lets each transaction pick its own pool.
+     */
+    @Bean
+    @ConditionalOnProperty(name = REPLICA + ".url")
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    /**
+     * The pools are not beans of their own, so nothing else would shut them down; the context closes
+     * them through this proxy's {@code close()}.
+     */
+    private static final class PoolOwningDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+        private final List<HikariDataSource> pools;
+
+        PoolOwningDataSource(DataSource target, List<HikariDataSource> pools) {
+            super(target);
+            this.pools = pools;
+        }
+
+        @Override
+        public void close() {
+            pools.forEach(HikariDataSource::close);
+        }
+    }
+}
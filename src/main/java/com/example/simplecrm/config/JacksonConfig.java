@@ -0,0 +1,42 @@
+package com.example.simplecrm.config;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.util.JsonRecyclerPools;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.unit.DataSize;
+
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer bufferRecycling(
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        return builder -> tune(builder, virtualThreads);
+    }
+
+    /** Replaces Spring Boot's JSON converter; see {@link SizedJsonHttpMessageConverter}. */
+    @Bean
+    public SizedJsonHttpMessageConverter mappingJackson2HttpMessageConverter(
+            ObjectMapper objectMapper,
+            @Value("${server.compression.min-response-size:2KB}") DataSize minCompressedSize) {
+        return new SizedJsonHttpMessageConverter(objectMapper, (int) minCompressedSize.toBytes());
+    }
+
+    /**
+     * Jackson recycles its read and write buffers per thread. A virtual thread serves one request and is
+     * gone, so it would allocate fresh buffers for every response; with virtual threads the buffers come
+     * from one shared pool instead. Public so benchmarks build the same mapper.
+     */
+    public static void tune(Jackson2ObjectMapperBuilder builder, boolean virtualThreads) {
+        if (virtualThreads) {
+            builder.factory(JsonFactory.builder()
+                    .recyclerPool(JsonRecyclerPools.sharedConcurrentDequePool())
+                    .build());
+        }
+    }
+}
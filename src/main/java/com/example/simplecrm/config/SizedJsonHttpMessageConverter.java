@@ -0,0 +1,96 @@
+package com.example.simplecrm.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+/**
+ * Jackson converter that holds back the first {@code threshold} bytes of a JSON body. A body that fits is
+ * sent with a Content-Length, which is what Tomcat needs to leave it uncompressed under
+ * {@code server.compression.min-response-size}; without one every JSON response is gzipped, however small.
+ * A larger body is streamed on as before. Streamed element types (NDJSON, SSE) are not held back.
+ */
+public class SizedJsonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final int threshold;
+
+    public SizedJsonHttpMessageConverter(ObjectMapper objectMapper, int threshold) {
+        super(objectMapper);
+        this.threshold = threshold;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+        MediaType contentType = outputMessage.getHeaders().getContentType();
+        if (contentType != null && !MediaType.APPLICATION_JSON.isCompatibleWith(contentType)) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+        HeldBackBody body = new HeldBackBody(outputMessage, threshold);
+        super.writeInternal(object, type, new HttpOutputMessage() {
+            @Override
+            public OutputStream getBody() {
+                return body;
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return outputMessage.getHeaders();
+            }
+        });
+        body.finish();
+    }
+
+    private static final class HeldBackBody extends OutputStream {
+
+        private final HttpOutputMessage target;
+        private final byte[] buffer;
+        private int count;
+        private OutputStream passThrough;
+
+        HeldBackBody(HttpOutputMessage target, int threshold) {
+            this.target = target;
+            this.buffer = new byte[threshold];
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            if (passThrough == null && count + length > buffer.length) {
+                passThrough = target.getBody();
+                passThrough.write(buffer, 0, count);
+            }
+            if (passThrough != null) {
+                passThrough.write(bytes, offset, length);
+            } else {
+                System.arraycopy(bytes, offset, buffer, count, length);
+                count += length;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (passThrough != null) {
+                passThrough.flush();
+            }
+        }
+
+        /** Sends a body that stayed under the threshold, now that its length is known. */
+        void finish() throws IOException {
+            if (passThrough == null) {
+                target.getHeaders().setContentLength(count);
+                target.getBody().write(buffer, 0, count);
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.simplecrm.controller;
+
+import com.example.simplecrm.api.ApiResponse;
+import com.example.simplecrm.cache.CustomerCache;
+import com.example.simplecrm.dto.CacheStatsDTO;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin/caches")
+@Tag(name = "Caches", description = "In-process cache statistics")
+public class CacheController {
+
+    private final CustomerCache customerCache;
+
+    public CacheController(CustomerCache customerCache) {
+        this.customerCache = customerCache;
+    }
+
+    @Operation(summary = "Hit, miss and eviction counters of the customer cache")
+    @GetMapping("/customers")
+    public ResponseEntity<ApiResponse<CacheStatsDTO>> getCustomerCacheStats() {
+        CacheStats stats = customerCache.stats();
+        CacheStatsDTO dto = new CacheStatsDTO(customerCache.size(), stats.hitCount(), stats.missCount(),
+                stats.hitRate(), stats.evictionCount());
+        return ResponseEntity.ok(
+                ApiResponse.<CacheStatsDTO>builder()
+                        .status(HttpStatus.OK.value())
+                        .message("Customer cache statistics")
+                        .data(dto)
+                        .build()
+        );
+    }
+}
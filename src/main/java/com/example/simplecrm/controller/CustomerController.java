@@ -1,16 +1,30 @@
 package com.example.simplecrm.controller;
 
+import com.example.simplecrm.dto.BulkImportResultDTO;
+import com.example.simplecrm.dto.CursorPage;
+import com.example.simplecrm.dto.CustomerMultiGetResultDTO;
 import com.example.simplecrm.dto.CustomerRequestDTO;
 import com.example.simplecrm.dto.CustomerResponseDTO;
+import com.example.simplecrm.service.CustomerImportService;
 import com.example.simplecrm.service.CustomerService;
 import io.swagger.v3.oas.annotations.Operation;
 import com.example.simplecrm.api.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -19,9 +33,11 @@ import java.util.List;
 public class CustomerController {
 
     private final CustomerService customerService;
+    private final CustomerImportService customerImportService;
 
-    public CustomerController(CustomerService customerService) {
+    public CustomerController(CustomerService customerService, CustomerImportService customerImportService) {
         this.customerService = customerService;
+        this.customerImportService = customerImportService;
     }
 
     @Operation(summary = "Add new customer")
@@ -38,11 +54,29 @@ public class CustomerController {
         );
     }
 
+    @Operation(summary = "Import many customers from a JSON array or NDJSON stream; invalid rows are reported, not fatal")
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ApiResponse<BulkImportResultDTO>> importCustomers(InputStream body) throws IOException {
+        BulkImportResultDTO result = customerImportService.importCustomers(body);
+        return ResponseEntity.ok(
+                ApiResponse.<BulkImportResultDTO>builder()
+                        .status(HttpStatus.OK.value())
+                        .message("Imported " + result.getImported() + " of " + result.getReceived() + " customers")
+                        .data(result)
+                        .build()
+        );
+    }
+
     @Operation(summary = "Get customer by ID")
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<CustomerResponseDTO>> getCustomerById(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<CustomerResponseDTO>> getCustomerById(@PathVariable Long id, WebRequest request) {
+        // Conditional request: answer 304 from the row version alone, before the customer is loaded
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && request.checkNotModified(ETags.weak(customerService.getCustomerVersion(id)))) {
+            return null;
+        }
         CustomerResponseDTO dto = customerService.getCustomerById(id);
-        return ResponseEntity.ok(
+        return ResponseEntity.ok().eTag(ETags.weak(dto.getVersion())).body(
             ApiResponse.<CustomerResponseDTO>builder()
                     .status(HttpStatus.OK.value())
                     .message("Customer fetched successfully")
@@ -77,15 +111,59 @@ public class CustomerController {
         );
     }
 
-    @Operation(summary = "Get all customers")
+    @Operation(summary = "Find customers whose email, name or phone starts with q, best match first")
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<List<CustomerResponseDTO>>> searchCustomers(
+            @RequestParam @NotBlank @Size(min = 2, max = 100) String q,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int limit) {
+        List<CustomerResponseDTO> response = customerService.search(q, limit);
+        return ResponseEntity.ok(
+                ApiResponse.<List<CustomerResponseDTO>>builder()
+                        .status(HttpStatus.OK.value())
+                        .message("Customer search results")
+                        .data(response)
+                        .build()
+        );
+    }
+
+    @Operation(summary = "Get up to 500 customers by ID in one call, in the order requested; unknown IDs are listed in missingIds")
+    @GetMapping(params = "ids")
+    public ResponseEntity<ApiResponse<CustomerMultiGetResultDTO>> getCustomersByIds(
+            @RequestParam @Size(min = 1, max = 500) List<@NotNull Long> ids) {
+        return multiGet(ids);
+    }
+
+    @Operation(summary = "Same as GET /api/customers?ids=, for up to 5000 IDs sent as a JSON array")
+    @PostMapping("/lookup")
+    public ResponseEntity<ApiResponse<CustomerMultiGetResultDTO>> lookupCustomers(
+            @RequestBody @Size(min = 1, max = 5000) List<@NotNull Long> ids) {
+        return multiGet(ids);
+    }
+
+    private ResponseEntity<ApiResponse<CustomerMultiGetResultDTO>> multiGet(List<Long> ids) {
+        CustomerMultiGetResultDTO response = customerService.getCustomersByIds(ids);
+        int requested = response.getCustomers().size() + response.getMissingIds().size();
+        return ResponseEntity.ok(
+                ApiResponse.<CustomerMultiGetResultDTO>builder()
+                        .status(HttpStatus.OK.value())
+                        .message("Fetched " + response.getCustomers().size() + " of " + requested + " customers")
+                        .data(response)
+                        .build()
+        );
+    }
+
+    @Operation(summary = "Get customers page by page, ordered by ID; pass nextCursor back as 'after'")
     @GetMapping
-    public ResponseEntity<ApiResponse<List<CustomerResponseDTO>>> getAllCustomers() {
-        List<CustomerResponseDTO> customers = customerService.getAllCustomers();
+    public ResponseEntity<ApiResponse<List<CustomerResponseDTO>>> getAllCustomers(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "50") @Min(1) @Max(500) int limit) {
+        CursorPage<CustomerResponseDTO> page = customerService.getCustomers(after, limit);
 
         ApiResponse<List<CustomerResponseDTO>> response = ApiResponse.<List<CustomerResponseDTO>>builder()
                 .status(HttpStatus.OK.value())
                 .message("Customer list")
-                .data(customers)
+                .data(page.items())
+                .nextCursor(page.nextCursor())
                 .build();
         return ResponseEntity.ok(response);
     }
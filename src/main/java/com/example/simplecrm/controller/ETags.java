@@ -0,0 +1,16 @@
+package com.example.simplecrm.controller;
+
+/**
+ * ETags are weak because the same version is served both plain and gzipped: a strong ETag would have to
+ * differ per encoding, and Tomcat does not compress responses that carry one. If-None-Match only needs
+ * weak comparison, so conditional GETs work the same.
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String weak(Object version) {
+        return "W/\"" + version + "\"";
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.simplecrm.controller;
+
+import com.example.simplecrm.dto.ExportFormat;
+import com.example.simplecrm.service.ExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/export")
+@Tag(name = "Export", description = "Full-table exports for the data warehouse")
+public class ExportController {
+
+    private final ExportService exportService;
+
+    public ExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    @Operation(summary = "Stream all customers as NDJSON or CSV")
+    @GetMapping("/customers")
+    public ResponseEntity<StreamingResponseBody> exportCustomers(@RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+        return stream("customers", format, out -> exportService.exportCustomers(format, out));
+    }
+
+    @Operation(summary = "Stream all orders as NDJSON or CSV")
+    @GetMapping("/orders")
+    public ResponseEntity<StreamingResponseBody> exportOrders(@RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+        return stream("orders", format, out -> exportService.exportOrders(format, out));
+    }
+
+    private ResponseEntity<StreamingResponseBody> stream(String name, ExportFormat format, StreamingResponseBody body) {
+        ContentDisposition disposition = ContentDisposition.attachment()
+                .filename(name + "." + format.getExtension())
+                .build();
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                .body(body);
+    }
+}
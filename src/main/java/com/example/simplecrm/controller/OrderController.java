@@ -1,26 +1,48 @@
 package com.example.simplecrm.controller;
 
 import com.example.simplecrm.api.ApiResponse;
+import com.example.simplecrm.dto.CursorPage;
+import com.example.simplecrm.dto.Versioned;
+import com.example.simplecrm.dto.order.OrderBatchResultDTO;
+import com.example.simplecrm.dto.order.OrderEventDTO;
 import com.example.simplecrm.dto.order.OrderRequestDTO;
 import com.example.simplecrm.dto.order.OrderResponseDTO;
+import com.example.simplecrm.dto.order.OrderSummaryDTO;
 import com.example.simplecrm.model.OrderStatus;
+import com.example.simplecrm.service.OrderChangeFeed;
 import com.example.simplecrm.service.OrderService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/orders")
 @Tag(name = "Orders", description = "Operations with customer orders")
 public class OrderController {
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+
     private final OrderService orderService;
-    public OrderController(final OrderService orderService) { this.orderService = orderService; }
+    private final OrderChangeFeed orderChangeFeed;
+
+    public OrderController(final OrderService orderService, final OrderChangeFeed orderChangeFeed) {
+        this.orderService = orderService;
+        this.orderChangeFeed = orderChangeFeed;
+    }
 
     @Operation(summary = "Create new order for customer")
     @PostMapping
@@ -35,19 +57,91 @@ public class OrderController {
         );
     }
 
-    @Operation(summary = "Get all orders for customer")
+    @Operation(summary = "Create up to 1000 orders at once; orders for unknown customers are reported per item")
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponse<OrderBatchResultDTO>> createOrders(@RequestBody @Size(min = 1, max = 1000) List<@Valid OrderRequestDTO> requests) {
+        OrderBatchResultDTO response = orderService.createOrders(requests);
+        return ResponseEntity.status(HttpStatus.CREATED).body(
+                ApiResponse.<OrderBatchResultDTO>builder()
+                        .status(HttpStatus.CREATED.value())
+                        .message("Created " + response.getCreated().size() + " of " + requests.size() + " orders")
+                        .data(response)
+                        .build()
+        );
+    }
+
+    @Operation(summary = "Get orders for customer. Without parameters returns all of them; with any of status, from, to, "
+            + "limit or after returns one page, newest first; pass nextCursor back as 'after'")
     @GetMapping("/{customerId}/orders")
-    public ResponseEntity<ApiResponse<List<OrderResponseDTO>>> getAllOrders(@PathVariable Long customerId) {
-        List<OrderResponseDTO> response = orderService.getOrdersByCustomerId(customerId);
-        return ResponseEntity.status(HttpStatus.OK).body(
+    public ResponseEntity<ApiResponse<List<OrderResponseDTO>>> getAllOrders(
+            @PathVariable Long customerId,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) @Min(1) @Max(500) Integer limit,
+            WebRequest request) {
+        // Conditional request: answer 304 from the list version alone, before any order is loaded
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && request.checkNotModified(ETags.weak(orderService.getOrdersVersion(customerId)))) {
+            return null;
+        }
+
+        if (status == null && from == null && to == null && after == null && limit == null) {
+            Versioned<List<OrderResponseDTO>> response = orderService.getVersionedOrdersByCustomerId(customerId);
+            return ResponseEntity.status(HttpStatus.OK).eTag(ETags.weak(response.version())).body(
+                    ApiResponse.<List<OrderResponseDTO>>builder()
+                            .status(HttpStatus.OK.value())
+                            .message("Orders fetched successfully")
+                            .data(response.value())
+                            .build()
+            );
+        }
+
+        String version = orderService.getOrdersVersion(customerId);
+        CursorPage<OrderResponseDTO> page = orderService.getOrders(customerId, status, from, to, after,
+                limit == null ? DEFAULT_PAGE_SIZE : limit);
+        return ResponseEntity.ok().eTag(ETags.weak(version)).body(
                 ApiResponse.<List<OrderResponseDTO>>builder()
                         .status(HttpStatus.OK.value())
                         .message("Orders fetched successfully")
+                        .data(page.items())
+                        .nextCursor(page.nextCursor())
+                        .build()
+        );
+    }
+
+    @Operation(summary = "Get order count and amount by status, and first and last order time, for customer")
+    @GetMapping("/{customerId}/summary")
+    public ResponseEntity<ApiResponse<OrderSummaryDTO>> getOrderSummary(@PathVariable Long customerId) {
+        OrderSummaryDTO response = orderService.getOrderSummary(customerId);
+        return ResponseEntity.ok(
+                ApiResponse.<OrderSummaryDTO>builder()
+                        .status(HttpStatus.OK.value())
+                        .message("Order summary fetched successfully")
                         .data(response)
                         .build()
         );
     }
 
+    @Operation(summary = "Order creations and status changes of all customers in commit order, after position 'after' "
+            + "(default: the oldest retained). With wait > 0 and nothing new, waits up to that many seconds for changes. "
+            + "nextCursor is always set: pass it back as 'after'. 410 when 'after' is older than the retained changes")
+    @GetMapping("/changes")
+    public CompletableFuture<ResponseEntity<ApiResponse<List<OrderEventDTO>>>> getChanges(
+            @RequestParam(required = false) @Min(0) Long after,
+            @RequestParam(defaultValue = "100") @Min(1) @Max(1000) int limit,
+            @RequestParam(defaultValue = "0") @Min(0) @Max(25) int wait) {
+        return orderChangeFeed.poll(after, limit, Duration.ofSeconds(wait)).thenApply(page -> ResponseEntity.ok(
+                ApiResponse.<List<OrderEventDTO>>builder()
+                        .status(HttpStatus.OK.value())
+                        .message("Fetched " + page.items().size() + " order changes")
+                        .data(page.items())
+                        .nextCursor(page.nextCursor())
+                        .build()
+        ));
+    }
+
     @Operation(summary = "Update order status (NEW, PROCESSING, COMPLETED, CANCELED)")
     @PutMapping("/customer/{customerId}/status")
     public ResponseEntity<ApiResponse<OrderResponseDTO>> updateOrderStatus(@RequestParam Long orderId, @PathVariable Long customerId, @RequestParam OrderStatus orderStatus) {
@@ -0,0 +1,92 @@
+package com.example.simplecrm.controller;
+
+import com.example.simplecrm.api.ApiResponse;
+import com.example.simplecrm.dto.CustomerResponseDTO;
+import com.example.simplecrm.dto.order.OrderResponseDTO;
+import com.example.simplecrm.service.ReactiveReadService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Reactive read endpoints for high fan-out clients. The servlet thread is released as soon as the
+ * query is issued; the {@code /stream} variants write NDJSON and only pull the next row from the
+ * database once the previous one has been written to the client.
+ */
+@RestController
+@RequestMapping("/api/reactive")
+@Tag(name = "Reactive reads", description = "Non-blocking reads of customers and orders")
+public class ReactiveReadController {
+
+    private final ReactiveReadService reactiveReadService;
+
+    public ReactiveReadController(ReactiveReadService reactiveReadService) {
+        this.reactiveReadService = reactiveReadService;
+    }
+
+    @Operation(summary = "Get customer by ID")
+    @GetMapping("/customers/{id}")
+    public Mono<ResponseEntity<ApiResponse<CustomerResponseDTO>>> getCustomerById(@PathVariable Long id) {
+        return reactiveReadService.getCustomerById(id)
+                .map(customer -> ResponseEntity.ok(
+                        ApiResponse.<CustomerResponseDTO>builder()
+                                .status(HttpStatus.OK.value())
+                                .message("Customer fetched successfully")
+                                .data(customer)
+                                .build()
+                ));
+    }
+
+    @Operation(summary = "Get customers page by page, ordered by ID; pass nextCursor back as 'after'")
+    @GetMapping("/customers")
+    public Mono<ResponseEntity<ApiResponse<List<CustomerResponseDTO>>>> getAllCustomers(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "50") @Min(1) @Max(500) int limit) {
+        return reactiveReadService.getCustomers(after, limit)
+                .map(page -> ResponseEntity.ok(
+                        ApiResponse.<List<CustomerResponseDTO>>builder()
+                                .status(HttpStatus.OK.value())
+                                .message("Customer list")
+                                .data(page.items())
+                                .nextCursor(page.nextCursor())
+                                .build()
+                ));
+    }
+
+    @Operation(summary = "Stream customers ordered by ID as NDJSON, at the pace the client reads")
+    @GetMapping(value = "/customers/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<CustomerResponseDTO> streamCustomers(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "1000") @Min(1) @Max(100000) int limit) {
+        return reactiveReadService.streamCustomers(after, limit);
+    }
+
+    @Operation(summary = "Get all orders for customer")
+    @GetMapping("/orders/{customerId}/orders")
+    public Mono<ResponseEntity<ApiResponse<List<OrderResponseDTO>>>> getAllOrders(@PathVariable Long customerId) {
+        return reactiveReadService.getOrdersByCustomerId(customerId)
+                .collectList()
+                .map(orders -> ResponseEntity.ok(
+                        ApiResponse.<List<OrderResponseDTO>>builder()
+                                .status(HttpStatus.OK.value())
+                                .message("Orders fetched successfully")
+                                .data(orders)
+                                .build()
+                ));
+    }
+
+    @Operation(summary = "Stream all orders for customer as NDJSON, at the pace the client reads")
+    @GetMapping(value = "/orders/{customerId}/orders/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<OrderResponseDTO> streamOrders(@PathVariable Long customerId) {
+        return reactiveReadService.getOrdersByCustomerId(customerId);
+    }
+}
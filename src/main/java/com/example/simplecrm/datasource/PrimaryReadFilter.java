@@ -0,0 +1,35 @@
+package com.example.simplecrm.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Serves requests sent with {@code X-Read-Consistency: primary} from the primary, for clients that
+ * read back what they have just written and cannot wait for the replica to catch up.
+ */
+@Component
+@ConditionalOnProperty(name = "simplecrm.datasource.replica.url")
+public class PrimaryReadFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Read-Consistency";
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"primary".equalsIgnoreCase(request.getHeader(HEADER));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try (ReadRouting.Scope ignored = ReadRouting.primary()) {
+            filterChain.doFilter(request, response);
+        }
+    }
+}
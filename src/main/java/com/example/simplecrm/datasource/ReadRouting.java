@@ -0,0 +1,45 @@
+package com.example.simplecrm.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Opt-out from the read replica for reads that must see the caller's own writes. Read-only
+ * transactions started inside {@link #primary()} or {@link #onPrimary(Supplier)} read from the primary.
+ * <p>
+ * The choice is made when a transaction runs its first statement, so the scope can be opened inside a
+ * transaction as long as nothing has been read yet; it cannot move a transaction that is already
+ * reading from the replica.
+ */
+public final class ReadRouting {
+
+    private static final ThreadLocal<Boolean> PRIMARY = new ThreadLocal<>();
+
+    private ReadRouting() {
+    }
+
+    /** Routes read-only transactions on this thread to the primary until the returned scope is closed. */
+    public static Scope primary() {
+        Boolean previous = PRIMARY.get();
+        PRIMARY.set(Boolean.TRUE);
+        return () -> {
+            if (previous == null) {
+                PRIMARY.remove();
+            }
+        };
+    }
+
+    public static <T> T onPrimary(Supplier<T> read) {
+        try (Scope ignored = primary()) {
+            return read.get();
+        }
+    }
+
+    static boolean isPrimaryRequired() {
+        return PRIMARY.get() != null;
+    }
+
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.simplecrm.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Hands out replica connections to read-only transactions, except inside {@link ReadRouting#primary()},
+ * and primary connections to everything else.
+ * <p>
+ * The decision is taken from the transaction definition rather than the connection's read-only flag:
+ * Hibernate only sets that flag on a connection it holds when the transaction begins, which it does not
+ * once connections are released after every transaction. Sitting behind a lazy proxy, the lookup runs on
+ * the transaction's first statement, when the transaction is already registered on the thread.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final String PRIMARY = "primary";
+    private static final String REPLICA = "replica";
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica) {
+        setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !ReadRouting.isPrimaryRequired()
+                ? REPLICA : PRIMARY;
+    }
+}
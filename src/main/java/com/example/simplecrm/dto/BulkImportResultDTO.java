@@ -0,0 +1,16 @@
+package com.example.simplecrm.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+public class BulkImportResultDTO {
+
+    private int received;
+    private int imported;
+    private List<ItemErrorDTO> errors = new ArrayList<>();
+}
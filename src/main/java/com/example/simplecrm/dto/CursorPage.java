@@ -0,0 +1,9 @@
+package com.example.simplecrm.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing. {@code nextCursor} is {@code null} when there are no more rows.
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+}
@@ -0,0 +1,14 @@
+package com.example.simplecrm.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class CustomerMultiGetResultDTO {
+    /** Found customers in the order their ids were requested, each once. */
+    private List<CustomerResponseDTO> customers;
+    private List<Long> missingIds;
+}
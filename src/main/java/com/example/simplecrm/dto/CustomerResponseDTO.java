@@ -1,5 +1,6 @@
 package com.example.simplecrm.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -11,4 +12,8 @@ public class CustomerResponseDTO {
     private String name;
     private String email;
     private String phone;
+
+    /** Row version the DTO was mapped from; sent as the ETag header rather than in the body. */
+    @JsonIgnore
+    private Long version;
 }
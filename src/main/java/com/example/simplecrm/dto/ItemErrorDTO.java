@@ -0,0 +1,16 @@
+package com.example.simplecrm.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Why one item of a bulk request was rejected. {@code index} is the zero-based position in the request.
+ */
+@Getter
+@AllArgsConstructor
+public class ItemErrorDTO {
+    private int index;
+    private List<String> messages;
+}
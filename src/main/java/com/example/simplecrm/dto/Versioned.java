@@ -0,0 +1,7 @@
+package com.example.simplecrm.dto;
+
+/**
+ * A response body together with the version its ETag is built from, computed from the same rows.
+ */
+public record Versioned<T>(T value, String version) {
+}
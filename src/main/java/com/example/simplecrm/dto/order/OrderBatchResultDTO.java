@@ -0,0 +1,14 @@
+package com.example.simplecrm.dto.order;
+
+import com.example.simplecrm.dto.ItemErrorDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class OrderBatchResultDTO {
+    private List<OrderResponseDTO> created;
+    private List<ItemErrorDTO> errors;
+}
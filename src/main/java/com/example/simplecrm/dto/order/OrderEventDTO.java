@@ -0,0 +1,22 @@
+package com.example.simplecrm.dto.order;
+
+import com.example.simplecrm.model.OrderEventType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/** One entry of the order change feed; {@code id} is the position to pass back as 'after'. */
+@Getter
+@AllArgsConstructor
+public class OrderEventDTO {
+    private long id;
+    private Long orderId;
+    private Long customerId;
+    private OrderEventType type;
+    /** Status of the order after the change. */
+    private String status;
+    private BigDecimal amount;
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,13 @@
+package com.example.simplecrm.dto.order;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+@Getter
+@AllArgsConstructor
+public class OrderStatusTotalsDTO {
+    private long count;
+    private BigDecimal amount;
+}
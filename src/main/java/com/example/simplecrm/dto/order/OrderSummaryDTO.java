@@ -0,0 +1,21 @@
+package com.example.simplecrm.dto.order;
+
+import com.example.simplecrm.model.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Getter
+@AllArgsConstructor
+public class OrderSummaryDTO {
+    private Long customerId;
+    private long orderCount;
+    private BigDecimal totalAmount;
+    private LocalDateTime firstOrderAt;
+    private LocalDateTime lastOrderAt;
+    /** Every status, with zero totals for statuses the customer has no orders in. */
+    private Map<OrderStatus, OrderStatusTotalsDTO> byStatus;
+}
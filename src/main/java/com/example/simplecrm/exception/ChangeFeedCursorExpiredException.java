@@ -0,0 +1,8 @@
+package com.example.simplecrm.exception;
+
+public class ChangeFeedCursorExpiredException extends RuntimeException {
+    public ChangeFeedCursorExpiredException(long after, long prunedThrough) {
+        super("Change feed position " + after + " is older than the retained events (removed through "
+                + prunedThrough + "); resynchronise and continue from the latest position");
+    }
+}
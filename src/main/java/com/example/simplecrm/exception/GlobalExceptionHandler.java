@@ -1,8 +1,10 @@
 package com.example.simplecrm.exception;
 
-
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -12,8 +14,15 @@ import java.util.*;
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private final MeterRegistry meterRegistry;
+
+    public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, Object>> handleValidationErrors(MethodArgumentNotValidException ex) {
+        count(ex, HttpStatus.BAD_REQUEST);
         List<String> errors = ex.getBindingResult()
                 .getFieldErrors()
                 .stream()
@@ -30,9 +39,74 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(CustomerNotFoundException.class)
     public ResponseEntity<Map<String, Object>> handleRuntime(CustomerNotFoundException ex) {
+        count(ex, HttpStatus.NOT_FOUND);
         Map<String, Object> response = new HashMap<>();
         response.put("status", HttpStatus.NOT_FOUND.value());
         response.put("error", ex.getMessage());
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
     }
+
+    @ExceptionHandler(OrderNotFoundException.class)
+    public ResponseEntity<Map<String, Object>> handleOrderNotFound(OrderNotFoundException ex) {
+        count(ex, HttpStatus.NOT_FOUND);
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", HttpStatus.NOT_FOUND.value());
+        response.put("error", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+    }
+
+    @ExceptionHandler(UnauthorizedAccessException.class)
+    public ResponseEntity<Map<String, Object>> handleUnauthorizedAccess(UnauthorizedAccessException ex) {
+        count(ex, HttpStatus.FORBIDDEN);
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", HttpStatus.FORBIDDEN.value());
+        response.put("error", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(response);
+    }
+
+    @ExceptionHandler(IllegalStatusTransitionException.class)
+    public ResponseEntity<Map<String, Object>> handleIllegalStatusTransition(IllegalStatusTransitionException ex) {
+        count(ex, HttpStatus.CONFLICT);
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", HttpStatus.CONFLICT.value());
+        response.put("error", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, Object>> handleConcurrentUpdate(ObjectOptimisticLockingFailureException ex) {
+        count(ex, HttpStatus.CONFLICT);
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", HttpStatus.CONFLICT.value());
+        response.put("error", "Resource was modified by another request, fetch it again and retry");
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<Map<String, Object>> handleInvalidCursor(InvalidCursorException ex) {
+        count(ex, HttpStatus.BAD_REQUEST);
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", HttpStatus.BAD_REQUEST.value());
+        response.put("error", ex.getMessage());
+        return ResponseEntity.badRequest().body(response);
+    }
+
+    @ExceptionHandler(ChangeFeedCursorExpiredException.class)
+    public ResponseEntity<Map<String, Object>> handleExpiredFeedCursor(ChangeFeedCursorExpiredException ex) {
+        count(ex, HttpStatus.GONE);
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", HttpStatus.GONE.value());
+        response.put("error", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.GONE).body(response);
+    }
+
+    /** Counts handled errors as {@code simplecrm.errors}, tagged with the exception type and response status. */
+    private void count(Exception ex, HttpStatus status) {
+        Counter.builder("simplecrm.errors")
+                .description("Requests answered with an error by GlobalExceptionHandler")
+                .tag("exception", ex.getClass().getSimpleName())
+                .tag("status", String.valueOf(status.value()))
+                .register(meterRegistry)
+                .increment();
+    }
 }
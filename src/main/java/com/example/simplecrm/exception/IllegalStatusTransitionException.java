@@ -0,0 +1,9 @@
+package com.example.simplecrm.exception;
+
+import com.example.simplecrm.model.OrderStatus;
+
+public class IllegalStatusTransitionException extends RuntimeException {
+    public IllegalStatusTransitionException(Long orderId, OrderStatus current, OrderStatus target) {
+        super("Order with id " + orderId + " cannot move from " + current + " to " + target);
+    }
+}
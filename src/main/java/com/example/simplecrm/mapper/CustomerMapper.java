@@ -3,21 +3,20 @@ package com.example.simplecrm.mapper;
 import com.example.simplecrm.dto.CustomerRequestDTO;
 import com.example.simplecrm.dto.CustomerResponseDTO;
 import com.example.simplecrm.model.Customer;
-import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
-import org.springframework.stereotype.Component;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.ReportingPolicy;
 
-@Component
-@RequiredArgsConstructor
-public class CustomerMapper {
+/**
+ * Customer mapping generated at compile time by MapStruct, so every call is plain
+ * getter/setter code instead of a reflective property match.
+ */
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING, unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface CustomerMapper {
 
-    private final ModelMapper mapper;
+    @Mapping(target = "id", ignore = true)
+    Customer toEntity(CustomerRequestDTO customerRequestDTO);
 
-    public Customer toEntity(CustomerRequestDTO customerRequestDTO) {
-        return mapper.map(customerRequestDTO, Customer.class);
-    }
-
-    public CustomerResponseDTO toDTO(Customer customer) {
-        return mapper.map(customer, CustomerResponseDTO.class);
-    }
+    CustomerResponseDTO toDTO(Customer customer);
 }
@@ -3,20 +3,26 @@ package com.example.simplecrm.mapper;
 import com.example.simplecrm.dto.order.OrderRequestDTO;
 import com.example.simplecrm.dto.order.OrderResponseDTO;
 import com.example.simplecrm.model.Order;
-import lombok.AllArgsConstructor;
-import org.modelmapper.ModelMapper;
-import org.springframework.stereotype.Component;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.ReportingPolicy;
 
-@Component
-@AllArgsConstructor
-public class OrderMapper {
-    private final ModelMapper mapper;
+/**
+ * Order mapping generated at compile time by MapStruct. The customer reference is
+ * attached by the service, and {@code customerId} is read from the association's id,
+ * which does not initialize a lazy proxy.
+ */
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING, unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface OrderMapper {
 
-    public Order toEntity(OrderRequestDTO request) {
-        return mapper.map(request, Order.class);
-    }
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "status", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "customer", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    Order toEntity(OrderRequestDTO request);
 
-    public OrderResponseDTO toDTO(Order order) {
-        return mapper.map(order, OrderResponseDTO.class);
-    }
+    @Mapping(target = "customerId", source = "customer.id")
+    OrderResponseDTO toDTO(Order order);
 }
@@ -4,17 +4,26 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.Locale;
+
 @Entity
 @Getter
 @Setter
 public class Customer {
 
+    /** Pooled sequence ids let Hibernate batch inserts, which IDENTITY columns prevent. */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "customer_seq")
+    @SequenceGenerator(name = "customer_seq", sequenceName = "customer_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Name is required")
@@ -26,4 +35,35 @@ public class Customer {
 
     @Pattern(regexp = "\\+?[0-9\\- ]{7,15}", message = "Phone must be a valid number")
     private String phone;
+
+    /** Bumped by Hibernate on every update; serves as the customer's ETag. */
+    @Version
+    @Setter(AccessLevel.NONE)
+    private Long version;
+
+    /** Lower-cased name and email and the phone's digits, derived on every write for the prefix search indexes. */
+    @Setter(AccessLevel.NONE)
+    private String searchName;
+
+    @Setter(AccessLevel.NONE)
+    private String searchEmail;
+
+    @Setter(AccessLevel.NONE)
+    private String searchPhone;
+
+    @PrePersist
+    @PreUpdate
+    public void updateSearchKeys() {
+        searchName = searchKey(name);
+        searchEmail = searchKey(email);
+        searchPhone = phoneDigits(phone);
+    }
+
+    public static String searchKey(String value) {
+        return value == null ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public static String phoneDigits(String value) {
+        return value == null ? null : value.replaceAll("[^0-9]", "");
+    }
 }
@@ -0,0 +1,7 @@
+package com.example.simplecrm.model;
+
+/** Kinds of change recorded in the order_event outbox. */
+public enum OrderEventType {
+    CREATED,
+    STATUS_CHANGED
+}
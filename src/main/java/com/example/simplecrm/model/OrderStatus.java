@@ -1,8 +1,28 @@
 package com.example.simplecrm.model;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum OrderStatus {
     NEW,
     PROCESSING,
     COMPLETED,
-    CANCELLED
+    CANCELLED;
+
+    /**
+     * Statuses an order may move to this one from: NEW → PROCESSING → COMPLETED,
+     * and any status except CANCELLED itself → CANCELLED. Nothing moves back to NEW.
+     */
+    public Set<OrderStatus> allowedPredecessors() {
+        return switch (this) {
+            case NEW -> EnumSet.noneOf(OrderStatus.class);
+            case PROCESSING -> EnumSet.of(NEW);
+            case COMPLETED -> EnumSet.of(PROCESSING);
+            case CANCELLED -> EnumSet.of(NEW, PROCESSING, COMPLETED);
+        };
+    }
+
+    public boolean canTransitionTo(OrderStatus target) {
+        return target.allowedPredecessors().contains(this);
+    }
 }
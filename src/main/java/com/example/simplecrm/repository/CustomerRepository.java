@@ -1,6 +1,57 @@
 package com.example.simplecrm.repository;
 
 import com.example.simplecrm.model.Customer;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-public interface CustomerRepository extends JpaRepository<Customer, Long> {}
\ No newline at end of file
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface CustomerRepository extends JpaRepository<Customer, Long> {
+
+    /**
+     * Keyset page: seeks on the primary key index instead of skipping rows with OFFSET,
+     * so every page costs the same no matter how deep it is.
+     */
+    List<Customer> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Prefix search on the normalised search_name column. StartingWith binds "prefix%" with LIKE wildcards in the
+     * prefix escaped, which both databases turn into a range scan of the index on (column, id). The ORDER BY
+     * matches that index, so only the first rows of the range are read: on PostgreSQL because the search_*
+     * columns use the "C" collation (db/vendor/postgresql/V10), on H2 because its plain index order is the sort order.
+     */
+    List<Customer> findBySearchNameStartingWithOrderBySearchNameAscIdAsc(String prefix, Limit limit);
+
+    /** Prefix search on search_email, one index range read like {@link #findBySearchNameStartingWithOrderBySearchNameAscIdAsc}. */
+    List<Customer> findBySearchEmailStartingWithOrderBySearchEmailAscIdAsc(String prefix, Limit limit);
+
+    /** Prefix search on search_phone, one index range read like {@link #findBySearchNameStartingWithOrderBySearchNameAscIdAsc}. */
+    List<Customer> findBySearchPhoneStartingWithOrderBySearchPhoneAscIdAsc(String prefix, Limit limit);
+
+    /** The customer's row version alone, for answering conditional GETs without loading the customer. */
+    @Query("select c.version from Customer c where c.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /** Which of the given ids exist, answered from the primary key index without loading any customer. */
+    @Query("select c.id from Customer c where c.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Streams every customer through a server-side cursor. Must be consumed inside a transaction,
+     * and the caller is responsible for clearing the persistence context as it advances.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select c from Customer c order by c.id")
+    Stream<Customer> streamAll();
+}
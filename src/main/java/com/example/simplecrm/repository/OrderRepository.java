@@ -1,10 +1,141 @@
 package com.example.simplecrm.repository;
 
 import com.example.simplecrm.model.Order;
+import com.example.simplecrm.model.OrderStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecificationExecutor<Order> {
     List<Order> findByCustomerId(Long customerId);
+
+    /**
+     * Moves the order to {@code status} only if it belongs to the customer and is currently in one of
+     * {@code from}, bumping the version in the same statement. Returns the number of rows updated (0 or 1).
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update Order o set o.status = :status, o.version = o.version + 1
+            where o.id = :id and o.customer.id = :customerId and o.status in :from""")
+    int transitionStatus(@Param("id") Long id, @Param("customerId") Long customerId,
+                         @Param("status") OrderStatus status, @Param("from") Collection<OrderStatus> from);
+
+    /** Owner and status only, used to explain why a conditional status update did not apply. */
+    @Query("select o.customer.id as customerId, o.status as status from Order o where o.id = :id")
+    Optional<StatusView> findStatusViewById(@Param("id") Long id);
+
+    /**
+     * Streams every order through a server-side cursor. Must be consumed inside a transaction,
+     * and the caller is responsible for clearing the persistence context as it advances.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select o from Order o order by o.id")
+    Stream<Order> streamAll();
+
+    /**
+     * Aggregate version of the customer's order list: any insert changes the count and max id, and any
+     * update bumps one order's version and so the sum. Reads no more than the order rows' id and version.
+     */
+    @Query("""
+            select count(o) as orderCount, coalesce(sum(o.version), 0) as versionSum, coalesce(max(o.id), 0) as maxId
+            from Order o where o.customer.id = :customerId""")
+    ListVersion findListVersionByCustomerId(@Param("customerId") Long customerId);
+
+    /** Count, amount and creation-time range per status, aggregated from the customer's orders. */
+    @Query("""
+            select o.status as status, count(o) as orderCount, coalesce(sum(o.amount), 0) as totalAmount,
+                   min(o.createdAt) as firstCreatedAt, max(o.createdAt) as lastCreatedAt
+            from Order o where o.customer.id = :customerId group by o.status""")
+    List<StatusTotals> summarizeByCustomerId(@Param("customerId") Long customerId);
+
+    /** The same totals read from the order_summary table: one primary-key range read of at most one row per status. */
+    @Query(nativeQuery = true, value = """
+            select status as "status", order_count as "orderCount", total_amount as "totalAmount",
+                   first_created_at as "firstCreatedAt", last_created_at as "lastCreatedAt"
+            from order_summary where customer_id = :customerId""")
+    List<StatusTotals> findSummaryByCustomerId(@Param("customerId") Long customerId);
+
+    /**
+     * Creates the customer's zero row for {@code status} unless it exists, so the summary updates below
+     * always find a row. Safe against concurrent inserts of the same row.
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            insert into order_summary (customer_id, status, order_count, total_amount)
+            values (:customerId, :status, 0, 0) on conflict do nothing""")
+    void ensureSummaryRow(@Param("customerId") Long customerId, @Param("status") String status);
+
+    /** Adds newly created orders to a summary row, widening its creation-time range to include theirs. */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            update order_summary
+            set order_count = order_count + :count,
+                total_amount = total_amount + :amount,
+                first_created_at = case when first_created_at <= :firstCreatedAt then first_created_at else :firstCreatedAt end,
+                last_created_at = case when last_created_at >= :lastCreatedAt then last_created_at else :lastCreatedAt end
+            where customer_id = :customerId and status = :status""")
+    int addCreatedToSummary(@Param("customerId") Long customerId, @Param("status") String status,
+                            @Param("count") long count, @Param("amount") BigDecimal amount,
+                            @Param("firstCreatedAt") LocalDateTime firstCreatedAt,
+                            @Param("lastCreatedAt") LocalDateTime lastCreatedAt);
+
+    /** Adds {@code count} orders worth {@code amount} to a summary row; negative values take them out. */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            update order_summary set order_count = order_count + :count, total_amount = total_amount + :amount
+            where customer_id = :customerId and status = :status""")
+    int addToSummary(@Param("customerId") Long customerId, @Param("status") String status,
+                     @Param("count") long count, @Param("amount") BigDecimal amount);
+
+    /**
+     * Appends one change event per order, carrying its current status and amount, to the order_event outbox.
+     * Pending inserts and updates are flushed first, so orders saved in the same transaction are included.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(nativeQuery = true, value = """
+            insert into order_event (order_id, customer_id, type, status, amount, occurred_at)
+            select id, customer_id, :type, status, amount, :occurredAt from orders where id in :ids order by id""")
+    int appendEvents(@Param("ids") Collection<Long> ids, @Param("type") String type,
+                     @Param("occurredAt") LocalDateTime occurredAt);
+
+    interface StatusView {
+        Long getCustomerId();
+
+        OrderStatus getStatus();
+    }
+
+    interface ListVersion {
+        long getOrderCount();
+
+        long getVersionSum();
+
+        long getMaxId();
+    }
+
+    interface StatusTotals {
+        OrderStatus getStatus();
+
+        long getOrderCount();
+
+        BigDecimal getTotalAmount();
+
+        LocalDateTime getFirstCreatedAt();
+
+        LocalDateTime getLastCreatedAt();
+    }
 }
@@ -0,0 +1,52 @@
+package com.example.simplecrm.repository;
+
+import com.example.simplecrm.model.Order;
+import com.example.simplecrm.model.OrderStatus;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+/**
+ * Predicates for the filtered order listing. Combined with {@link #NEWEST_FIRST} they match the
+ * (customer_id, created_at, id) and (customer_id, status, created_at, id) indexes, so a page is one
+ * backward index range read whatever filters are set.
+ */
+public final class OrderSpecifications {
+
+    public static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "createdAt", "id");
+
+    private OrderSpecifications() {
+    }
+
+    public static Specification<Order> ofCustomer(Long customerId) {
+        return (root, query, cb) -> cb.equal(root.get("customer").get("id"), customerId);
+    }
+
+    public static Specification<Order> hasStatus(OrderStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    /** Inclusive lower bound on createdAt. */
+    public static Specification<Order> createdFrom(LocalDateTime from) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("createdAt"), from);
+    }
+
+    /** Exclusive upper bound on createdAt. */
+    public static Specification<Order> createdBefore(LocalDateTime to) {
+        return (root, query, cb) -> cb.lessThan(root.get("createdAt"), to);
+    }
+
+    /**
+     * Orders that come after the keyset position in {@link #NEWEST_FIRST} order. The redundant
+     * {@code createdAt <= createdAt} bound lets the database start the index range at the cursor
+     * instead of filtering the OR row by row.
+     */
+    public static Specification<Order> after(LocalDateTime createdAt, Long id) {
+        return (root, query, cb) -> cb.and(
+                cb.lessThanOrEqualTo(root.get("createdAt"), createdAt),
+                cb.or(
+                        cb.lessThan(root.get("createdAt"), createdAt),
+                        cb.and(cb.equal(root.get("createdAt"), createdAt), cb.lessThan(root.get("id"), id))));
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.simplecrm.repository;
+
+import com.example.simplecrm.dto.CustomerResponseDTO;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Read-only customer queries over R2DBC for the reactive API. Rows are mapped straight to the
+ * response DTO; rows are pulled from the driver only as fast as the subscriber requests them.
+ */
+@Repository
+public class ReactiveCustomerRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveCustomerRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<CustomerResponseDTO> findById(Long id) {
+        return databaseClient.sql("select id, name, email, phone from customer where id = :id")
+                .bind("id", id)
+                .map(ReactiveCustomerRepository::toDTO)
+                .one();
+    }
+
+    /** Customers with an id greater than {@code after}, ordered by id. */
+    public Flux<CustomerResponseDTO> findAfter(long after, int limit) {
+        return databaseClient.sql("select id, name, email, phone from customer where id > :after order by id limit :limit")
+                .bind("after", after)
+                .bind("limit", limit)
+                .map(ReactiveCustomerRepository::toDTO)
+                .all();
+    }
+
+    private static CustomerResponseDTO toDTO(Readable row) {
+        CustomerResponseDTO dto = new CustomerResponseDTO();
+        dto.setId(row.get("id", Long.class));
+        dto.setName(row.get("name", String.class));
+        dto.setEmail(row.get("email", String.class));
+        dto.setPhone(row.get("phone", String.class));
+        return dto;
+    }
+}
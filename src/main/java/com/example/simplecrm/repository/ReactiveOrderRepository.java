@@ -0,0 +1,43 @@
+package com.example.simplecrm.repository;
+
+import com.example.simplecrm.dto.order.OrderResponseDTO;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only order queries over R2DBC for the reactive API.
+ */
+@Repository
+public class ReactiveOrderRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveOrderRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Flux<OrderResponseDTO> findByCustomerId(Long customerId) {
+        return databaseClient.sql("""
+                        select id, description, amount, status, created_at, customer_id
+                        from orders where customer_id = :customerId order by created_at, id""")
+                .bind("customerId", customerId)
+                .map(ReactiveOrderRepository::toDTO)
+                .all();
+    }
+
+    private static OrderResponseDTO toDTO(Readable row) {
+        OrderResponseDTO dto = new OrderResponseDTO();
+        dto.setId(row.get("id", Long.class));
+        dto.setDescription(row.get("description", String.class));
+        dto.setAmount(row.get("amount", BigDecimal.class));
+        dto.setStatus(row.get("status", String.class));
+        dto.setCreatedAt(row.get("created_at", LocalDateTime.class));
+        dto.setCustomerId(row.get("customer_id", Long.class));
+        return dto;
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.simplecrm.service;
+
+import com.example.simplecrm.dto.BulkImportResultDTO;
+import com.example.simplecrm.dto.CustomerRequestDTO;
+import com.example.simplecrm.dto.ItemErrorDTO;
+import com.example.simplecrm.mapper.CustomerMapper;
+import com.example.simplecrm.repository.CustomerRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Imports customers from a JSON array or an NDJSON stream. Rows are validated one by one and the valid
+ * ones are inserted in JDBC batches, one transaction per batch. If the database rejects a batch, its rows
+ * are retried individually so a single bad row only fails itself.
+ */
+@Service
+public class CustomerImportService {
+
+    private final CustomerRepository customerRepository;
+    private final CustomerMapper customerMapper;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectReader reader;
+    private final int batchSize;
+
+    public CustomerImportService(CustomerRepository customerRepository, CustomerMapper customerMapper,
+                                 Validator validator, EntityManager entityManager,
+                                 PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+                                 @Value("${simplecrm.customers.bulk.batch-size:500}") int batchSize) {
+        this.customerRepository = customerRepository;
+        this.customerMapper = customerMapper;
+        this.validator = validator;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.reader = objectMapper.readerFor(CustomerRequestDTO.class);
+        this.batchSize = batchSize;
+    }
+
+    public BulkImportResultDTO importCustomers(InputStream body) throws IOException {
+        BulkImportResultDTO result = new BulkImportResultDTO();
+        List<PendingRow> batch = new ArrayList<>(batchSize);
+        int index = 0;
+
+        try (MappingIterator<CustomerRequestDTO> rows = reader.readValues(body)) {
+            while (rows.hasNextValue()) {
+                CustomerRequestDTO dto = rows.nextValue();
+                int rowIndex = index++;
+                Set<ConstraintViolation<CustomerRequestDTO>> violations = validator.validate(dto);
+                if (!violations.isEmpty()) {
+                    result.getErrors().add(new ItemErrorDTO(rowIndex, violations.stream()
+                            .map(v -> v.getPropertyPath() + ":" + v.getMessage())
+                            .sorted()
+                            .toList()));
+                    continue;
+                }
+                batch.add(new PendingRow(rowIndex, dto));
+                if (batch.size() == batchSize) {
+                    flush(batch, result);
+                }
+            }
+        } catch (JsonProcessingException ex) {
+            // The stream cannot be resynchronised after malformed input; keep what was imported so far.
+            result.getErrors().add(new ItemErrorDTO(index, List.of("Malformed input: " + ex.getOriginalMessage())));
+        }
+        flush(batch, result);
+
+        result.setReceived(index);
+        return result;
+    }
+
+    private void flush(List<PendingRow> batch, BulkImportResultDTO result) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            insert(batch.stream().map(PendingRow::dto).toList());
+            result.setImported(result.getImported() + batch.size());
+        } catch (DataAccessException ex) {
+            for (PendingRow row : batch) {
+                try {
+                    insert(List.of(row.dto()));
+                    result.setImported(result.getImported() + 1);
+                } catch (DataAccessException rowEx) {
+                    result.getErrors().add(new ItemErrorDTO(row.index(),
+                            List.of("Rejected by database: " + rowEx.getMostSpecificCause().getMessage())));
+                }
+            }
+        }
+        batch.clear();
+    }
+
+    /**
+     * Inserts fresh entities on every attempt: those of a rolled-back batch keep the ids and versions
+     * assigned before the failure, and saving them again would merge rows that do not exist. Flushing
+     * through the repository turns a rejected insert into a {@link DataAccessException}.
+     */
+    private void insert(List<CustomerRequestDTO> rows) {
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+            customerRepository.saveAll(rows.stream().map(customerMapper::toEntity).toList());
+            customerRepository.flush();
+            entityManager.clear();
+        });
+    }
+
+    private record PendingRow(int index, CustomerRequestDTO dto) {
+    }
+}
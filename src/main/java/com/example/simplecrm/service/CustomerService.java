@@ -1,43 +1,143 @@
 package com.example.simplecrm.service;
 
 import com.example.simplecrm.dto.CustomerRequestDTO;
+import com.example.simplecrm.cache.CustomerCache;
+import com.example.simplecrm.concurrency.SingleFlight;
+import com.example.simplecrm.datasource.ReadRouting;
+import com.example.simplecrm.dto.CursorPage;
+import com.example.simplecrm.dto.CustomerMultiGetResultDTO;
 import com.example.simplecrm.dto.CustomerResponseDTO;
 import com.example.simplecrm.exception.CustomerNotFoundException;
 import com.example.simplecrm.mapper.CustomerMapper;
 import com.example.simplecrm.model.Customer;
 import com.example.simplecrm.repository.CustomerRepository;
+import org.springframework.data.domain.Limit;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
 
 @Service
+@Timed("simplecrm.service")
 public class CustomerService {
+    /** Search terms that could be (part of) a phone number, as accepted by CustomerRequestDTO. */
+    private static final Pattern PHONE_LIKE = Pattern.compile("\\+?[0-9\\- ]+");
+    private static final int MIN_PHONE_DIGITS = 3;
+    /** Ids per IN query in {@link #getCustomersByIds}. */
+    private static final int MULTI_GET_CHUNK_SIZE = 500;
+
     private final CustomerRepository customerRepository;
     private final CustomerMapper customerMapper;
+    private final CustomerCache customerCache;
+    /** Concurrent misses for one id share a single cache fill instead of queueing on the cache's per-key compute. */
+    private final SingleFlight<Long, CustomerResponseDTO> customerLoads;
 
-    public CustomerService(CustomerRepository customerRepository, CustomerMapper customerMapper) {
+    public CustomerService(CustomerRepository customerRepository, CustomerMapper customerMapper, CustomerCache customerCache,
+                           MeterRegistry meterRegistry) {
         this.customerRepository = customerRepository;
         this.customerMapper = customerMapper;
+        this.customerCache = customerCache;
+        this.customerLoads = new SingleFlight<>("customer", meterRegistry);
     }
 
+    @Transactional(readOnly = true)
     public CustomerResponseDTO getCustomerById(Long id) {
-        Customer customer = customerRepository.findById(id)
+        CustomerResponseDTO cached = customerCache.getIfPresent(id);
+        if (cached != null) {
+            return cached;
+        }
+        return customerLoads.load(id, key -> customerCache.get(key, this::loadCustomer));
+    }
+
+    /**
+     * Current version of the customer, for conditional GETs: taken from the cache when the customer is
+     * there, otherwise read alone from the primary without loading the row into an entity. A lagging
+     * replica could answer an evicted customer's old version and turn a conditional GET into a stale 304.
+     */
+    @Transactional(readOnly = true)
+    public long getCustomerVersion(Long id) {
+        CustomerResponseDTO cached = customerCache.getIfPresent(id);
+        if (cached != null) {
+            return cached.getVersion();
+        }
+        return ReadRouting.onPrimary(() -> customerRepository.findVersionById(id))
+                .orElseThrow(() -> new CustomerNotFoundException(id));
+    }
+
+    /**
+     * Customers for many ids at once, in the order requested, with the ids that do not exist reported
+     * separately. Cached customers are taken from the cache; the rest are read with one IN query per
+     * {@value #MULTI_GET_CHUNK_SIZE} ids instead of one lookup each.
+     */
+    @Transactional(readOnly = true)
+    public CustomerMultiGetResultDTO getCustomersByIds(List<Long> ids) {
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        Map<Long, CustomerResponseDTO> found = new HashMap<>();
+        List<Long> toLoad = new ArrayList<>();
+        for (Long id : requested) {
+            CustomerResponseDTO cached = customerCache.getIfPresent(id);
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                toLoad.add(id);
+            }
+        }
+        for (int from = 0; from < toLoad.size(); from += MULTI_GET_CHUNK_SIZE) {
+            List<Long> chunk = toLoad.subList(from, Math.min(from + MULTI_GET_CHUNK_SIZE, toLoad.size()));
+            for (Customer customer : customerRepository.findAllById(chunk)) {
+                found.put(customer.getId(), customerMapper.toDTO(customer));
+            }
+        }
+
+        List<CustomerResponseDTO> customers = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : requested) {
+            CustomerResponseDTO customer = found.get(id);
+            if (customer != null) {
+                customers.add(customer);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new CustomerMultiGetResultDTO(customers, missingIds);
+    }
+
+    /**
+     * Cache fill, read from the primary: a lagging replica could otherwise put back a row that a write has
+     * just evicted and keep serving it until the entry expires.
+     */
+    private CustomerResponseDTO loadCustomer(Long id) {
+        Customer customer = ReadRouting.onPrimary(() -> customerRepository.findById(id))
                 .orElseThrow(() -> new CustomerNotFoundException(id));
         return customerMapper.toDTO(customer);
     }
 
+    @Transactional
     public CustomerResponseDTO createCustomer(CustomerRequestDTO dto) {
         Customer customer = customerMapper.toEntity(dto);
         Customer saved = customerRepository.save(customer);
         return customerMapper.toDTO(saved);
     }
 
+    @Transactional
     public void deleteCustomer(Long id) {
         Customer customer = customerRepository.findById(id)
                 .orElseThrow(() -> new CustomerNotFoundException(id));
         customerRepository.delete(customer);
+        evict(id);
     }
 
+    @Transactional
     public CustomerResponseDTO updateCustomer(CustomerRequestDTO dto, Long id) {
         Customer customer = customerRepository.findById(id)
                 .orElseThrow(() -> new CustomerNotFoundException(id));
@@ -46,12 +146,63 @@ public class CustomerService {
         customer.setPhone(dto.getPhone());
 
         customerRepository.save(customer);
+        evict(id);
         return customerMapper.toDTO(customer);
     }
 
-    public List<CustomerResponseDTO> getAllCustomers() {
-        return customerRepository.findAll().stream()
-                .map(customerMapper::toDTO)
+    /** Drops the cached customer and lets no later reader join a load that may have seen the old row. */
+    private void evict(Long id) {
+        customerCache.invalidate(id);
+        customerLoads.forget(id);
+    }
+
+    /**
+     * Returns up to {@code limit} customers with an id greater than {@code after}, ordered by id.
+     * One extra row is fetched to tell whether another page exists.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<CustomerResponseDTO> getCustomers(Long after, int limit) {
+        List<Customer> rows = customerRepository.findByIdGreaterThanOrderByIdAsc(
+                after == null ? 0L : after, Limit.of(limit + 1));
+
+        boolean hasMore = rows.size() > limit;
+        List<Customer> page = hasMore ? rows.subList(0, limit) : rows;
+        String nextCursor = hasMore ? String.valueOf(page.get(page.size() - 1).getId()) : null;
+
+        return new CursorPage<>(page.stream().map(customerMapper::toDTO).toList(), nextCursor);
+    }
+
+    /**
+     * Customers whose email, name or phone starts with {@code query}, case-insensitively, best match first:
+     * exact email, then email prefix, name prefix and phone prefix, each in index order. Every source is
+     * one index range read of at most {@code limit} rows.
+     */
+    @Transactional(readOnly = true)
+    public List<CustomerResponseDTO> search(String query, int limit) {
+        String term = Customer.searchKey(query);
+        Limit rows = Limit.of(limit);
+        Map<Long, SearchHit> hits = new LinkedHashMap<>();
+
+        for (Customer customer : customerRepository.findBySearchEmailStartingWithOrderBySearchEmailAscIdAsc(term, rows)) {
+            hits.putIfAbsent(customer.getId(), new SearchHit(term.equals(customer.getSearchEmail()) ? 0 : 1, customer));
+        }
+        for (Customer customer : customerRepository.findBySearchNameStartingWithOrderBySearchNameAscIdAsc(term, rows)) {
+            hits.putIfAbsent(customer.getId(), new SearchHit(2, customer));
+        }
+        String digits = Customer.phoneDigits(term);
+        if (PHONE_LIKE.matcher(term).matches() && digits.length() >= MIN_PHONE_DIGITS) {
+            for (Customer customer : customerRepository.findBySearchPhoneStartingWithOrderBySearchPhoneAscIdAsc(digits, rows)) {
+                hits.putIfAbsent(customer.getId(), new SearchHit(3, customer));
+            }
+        }
+
+        return hits.values().stream()
+                .sorted(Comparator.comparingInt(SearchHit::rank))
+                .limit(limit)
+                .map(hit -> customerMapper.toDTO(hit.customer()))
                 .toList();
     }
+
+    private record SearchHit(int rank, Customer customer) {
+    }
 }
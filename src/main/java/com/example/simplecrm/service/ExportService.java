@@ -0,0 +1,162 @@
+package com.example.simplecrm.service;
+
+import com.example.simplecrm.dto.CustomerResponseDTO;
+import com.example.simplecrm.dto.ExportFormat;
+import com.example.simplecrm.dto.order.OrderResponseDTO;
+import com.example.simplecrm.mapper.CustomerMapper;
+import com.example.simplecrm.mapper.OrderMapper;
+import com.example.simplecrm.model.Customer;
+import com.example.simplecrm.model.Order;
+import com.example.simplecrm.repository.CustomerRepository;
+import com.example.simplecrm.repository.OrderRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Writes whole tables as NDJSON or CSV straight from a database cursor. Rows are mapped and
+ * written one at a time and the persistence context is cleared every {@link #CLEAR_INTERVAL}
+ * rows, so heap usage does not depend on the table size.
+ */
+@Service
+public class ExportService {
+
+    static final int CLEAR_INTERVAL = 1000;
+
+    private static final String CUSTOMER_CSV_HEADER = "id,name,email,phone";
+    private static final String ORDER_CSV_HEADER = "id,description,amount,status,createdAt,customerId";
+
+    private final CustomerRepository customerRepository;
+    private final OrderRepository orderRepository;
+    private final CustomerMapper customerMapper;
+    private final OrderMapper orderMapper;
+    private final EntityManager entityManager;
+    private final ObjectWriter jsonWriter;
+
+    public ExportService(CustomerRepository customerRepository, OrderRepository orderRepository,
+                         CustomerMapper customerMapper, OrderMapper orderMapper,
+                         EntityManager entityManager, ObjectMapper objectMapper) {
+        this.customerRepository = customerRepository;
+        this.orderRepository = orderRepository;
+        this.customerMapper = customerMapper;
+        this.orderMapper = orderMapper;
+        this.entityManager = entityManager;
+        this.jsonWriter = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("\n");
+    }
+
+    @Transactional(readOnly = true)
+    public long exportCustomers(ExportFormat format, OutputStream out) throws IOException {
+        RowWriter<CustomerResponseDTO> writer = format == ExportFormat.CSV
+                ? csv(out, CUSTOMER_CSV_HEADER, c -> new Object[]{c.getId(), c.getName(), c.getEmail(), c.getPhone()})
+                : ndjson(out);
+        try (Stream<Customer> customers = customerRepository.streamAll()) {
+            return export(customers, customerMapper::toDTO, writer);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long exportOrders(ExportFormat format, OutputStream out) throws IOException {
+        RowWriter<OrderResponseDTO> writer = format == ExportFormat.CSV
+                ? csv(out, ORDER_CSV_HEADER, o -> new Object[]{o.getId(), o.getDescription(), o.getAmount(),
+                        o.getStatus(), o.getCreatedAt(), o.getCustomerId()})
+                : ndjson(out);
+        try (Stream<Order> orders = orderRepository.streamAll()) {
+            return export(orders, orderMapper::toDTO, writer);
+        }
+    }
+
+    private <E, D> long export(Stream<E> rows, Function<E, D> mapper, RowWriter<D> writer) throws IOException {
+        long count = 0;
+        Iterator<E> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            writer.write(mapper.apply(iterator.next()));
+            if (++count % CLEAR_INTERVAL == 0) {
+                entityManager.clear();
+            }
+        }
+        writer.finish();
+        return count;
+    }
+
+    private <T> RowWriter<T> ndjson(OutputStream out) throws IOException {
+        JsonGenerator generator = jsonWriter.createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        return new RowWriter<>() {
+            private boolean empty = true;
+
+            @Override
+            public void write(T row) throws IOException {
+                jsonWriter.writeValue(generator, row);
+                empty = false;
+            }
+
+            @Override
+            public void finish() throws IOException {
+                if (!empty) {
+                    generator.writeRaw('\n');
+                }
+                generator.close();
+            }
+        };
+    }
+
+    private <T> RowWriter<T> csv(OutputStream out, String header, Function<T, Object[]> columns) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        writer.write(header);
+        writer.write('\n');
+        return new RowWriter<>() {
+            @Override
+            public void write(T row) throws IOException {
+                Object[] values = columns.apply(row);
+                for (int i = 0; i < values.length; i++) {
+                    if (i > 0) {
+                        writer.write(',');
+                    }
+                    writeCsvValue(writer, values[i]);
+                }
+                writer.write('\n');
+            }
+
+            @Override
+            public void finish() throws IOException {
+                writer.flush();
+            }
+        };
+    }
+
+    private static void writeCsvValue(Writer writer, Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private interface RowWriter<T> {
+        void write(T row) throws IOException;
+
+        void finish() throws IOException;
+    }
+}
@@ -0,0 +1,236 @@
+package com.example.simplecrm.service;
+
+import com.example.simplecrm.dto.CursorPage;
+import com.example.simplecrm.dto.order.OrderEventDTO;
+import com.example.simplecrm.exception.ChangeFeedCursorExpiredException;
+import com.example.simplecrm.model.OrderEventType;
+import com.example.simplecrm.repository.OrderRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Order changes as an ordered feed, backed by the order_event outbox. {@link OrderService} appends an
+ * event in the transaction of every order write, so the feed has exactly the committed changes.
+ * <p>
+ * Consumers read events after their last position. Event ids are allocated before commit, so a smaller
+ * id can become visible after a larger one; a gap younger than {@code simplecrm.orders.changes.settle}
+ * holds the feed back until it is filled or assumed rolled back. The settle time must exceed the longest
+ * order-writing transaction.
+ * <p>
+ * Reads go through JDBC outside any transaction, so a long-poll holds no connection while it waits.
+ * Waiting polls are answered by one background thread that checks for new events every
+ * {@code poll-interval}, and at once after a local commit. Events older than {@code retention} are
+ * deleted; a consumer whose position falls behind them gets a {@link ChangeFeedCursorExpiredException}.
+ */
+@Slf4j
+@Service
+public class OrderChangeFeed {
+
+    private static final int PRUNE_BATCH_SIZE = 10_000;
+    private static final RowMapper<OrderEventDTO> EVENT = (rs, rowNum) -> new OrderEventDTO(
+            rs.getLong("id"),
+            rs.getLong("order_id"),
+            rs.getLong("customer_id"),
+            OrderEventType.valueOf(rs.getString("type")),
+            rs.getString("status"),
+            rs.getBigDecimal("amount"),
+            rs.getObject("occurred_at", LocalDateTime.class));
+
+    private final OrderRepository orderRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration settle;
+    private final Duration retention;
+    private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean dispatchPending = new AtomicBoolean();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "order-change-feed");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public OrderChangeFeed(OrderRepository orderRepository, JdbcTemplate jdbcTemplate,
+                           TransactionTemplate transactionTemplate, MeterRegistry meterRegistry,
+                           @Value("${simplecrm.orders.changes.settle:5s}") Duration settle,
+                           @Value("${simplecrm.orders.changes.poll-interval:500ms}") Duration pollInterval,
+                           @Value("${simplecrm.orders.changes.retention:7d}") Duration retention,
+                           @Value("${simplecrm.orders.changes.prune-interval:1h}") Duration pruneInterval) {
+        this.orderRepository = orderRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.settle = settle;
+        this.retention = retention;
+        Gauge.builder("simplecrm.order_feed.waiting", waiters, Queue::size)
+                .description("Change feed long-polls waiting for new order events")
+                .register(meterRegistry);
+        scheduler.scheduleWithFixedDelay(this::dispatch, pollInterval.toMillis(), pollInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::prune, pruneInterval.toMillis(), pruneInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    /** Records the orders as created. Must run in the transaction that inserted them. */
+    public void ordersCreated(Collection<Long> orderIds) {
+        append(orderIds, OrderEventType.CREATED);
+    }
+
+    /** Records the order's new status. Must run in the transaction that changed it. */
+    public void statusChanged(Long orderId) {
+        append(List.of(orderId), OrderEventType.STATUS_CHANGED);
+    }
+
+    private void append(Collection<Long> orderIds, OrderEventType type) {
+        if (orderIds.isEmpty()) {
+            return;
+        }
+        orderRepository.appendEvents(orderIds, type.name(), LocalDateTime.now());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    wakeUp();
+                }
+            });
+        }
+    }
+
+    /**
+     * Up to {@code limit} events after position {@code after}, or after the oldest retained event when
+     * {@code after} is {@code null}. {@code nextCursor} is the position to continue from, never {@code null}.
+     */
+    public CursorPage<OrderEventDTO> read(Long after, int limit) {
+        long position = after != null ? after : prunedThrough();
+        List<OrderEventDTO> rows = jdbcTemplate.query(
+                "select id, order_id, customer_id, type, status, amount, occurred_at from order_event"
+                        + " where id > ? order by id limit ?", EVENT, position, limit);
+        if (after != null && (rows.isEmpty() || rows.get(0).getId() != position + 1)) {
+            long prunedThrough = prunedThrough();
+            if (position < prunedThrough) {
+                throw new ChangeFeedCursorExpiredException(position, prunedThrough);
+            }
+        }
+
+        LocalDateTime settledBefore = LocalDateTime.now().minus(settle);
+        List<OrderEventDTO> events = new ArrayList<>(rows.size());
+        for (OrderEventDTO event : rows) {
+            if (event.getId() != position + 1 && event.getOccurredAt().isAfter(settledBefore)) {
+                // A smaller id may still commit; hold the feed until it does or is old enough to be a rollback
+                break;
+            }
+            events.add(event);
+            position = event.getId();
+        }
+        return new CursorPage<>(events, String.valueOf(position));
+    }
+
+    /**
+     * Like {@link #read}, but when nothing is available waits up to {@code wait} for new events. The
+     * result is an empty page with the same cursor if none arrive in time.
+     */
+    public CompletableFuture<CursorPage<OrderEventDTO>> poll(Long after, int limit, Duration wait) {
+        CursorPage<OrderEventDTO> page = read(after, limit);
+        if (!page.items().isEmpty() || wait.isZero()) {
+            return CompletableFuture.completedFuture(page);
+        }
+        Waiter waiter = new Waiter(Long.parseLong(page.nextCursor()), limit, System.nanoTime() + wait.toNanos(),
+                new CompletableFuture<>());
+        waiters.add(waiter);
+        return waiter.result();
+    }
+
+    private void wakeUp() {
+        if (!waiters.isEmpty() && dispatchPending.compareAndSet(false, true)) {
+            scheduler.execute(this::dispatch);
+        }
+    }
+
+    /** Answers every waiting poll that has events or has run out of time. Runs on the feed thread only. */
+    private void dispatch() {
+        dispatchPending.set(false);
+        if (waiters.isEmpty()) {
+            return;
+        }
+        long latest;
+        try {
+            latest = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from order_event", Long.class);
+        } catch (RuntimeException e) {
+            log.warn("Checking for new order events failed", e);
+            latest = 0;
+        }
+        long now = System.nanoTime();
+        for (Iterator<Waiter> iterator = waiters.iterator(); iterator.hasNext(); ) {
+            Waiter waiter = iterator.next();
+            try {
+                CursorPage<OrderEventDTO> page = latest > waiter.after() ? read(waiter.after(), waiter.limit()) : null;
+                if (page != null && !page.items().isEmpty()) {
+                    waiter.result().complete(page);
+                } else if (now - waiter.deadline() >= 0) {
+                    waiter.result().complete(new CursorPage<>(List.of(), String.valueOf(waiter.after())));
+                }
+            } catch (RuntimeException e) {
+                waiter.result().completeExceptionally(e);
+            }
+            if (waiter.result().isDone()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /** Deletes events older than the retention period, in batches, advancing the retention mark with each. */
+    void prune() {
+        try {
+            Long through = jdbcTemplate.queryForObject("select max(id) from order_event where occurred_at < ?",
+                    Long.class, LocalDateTime.now().minus(retention));
+            if (through == null) {
+                return;
+            }
+            for (long pruned = prunedThrough(); pruned < through; ) {
+                long from = pruned;
+                long upTo = Math.min(through, from + PRUNE_BATCH_SIZE);
+                transactionTemplate.executeWithoutResult(status -> {
+                    jdbcTemplate.update("update order_event_retention set pruned_through = ? where id = 1 and pruned_through < ?",
+                            upTo, upTo);
+                    jdbcTemplate.update("delete from order_event where id > ? and id <= ?", from, upTo);
+                });
+                pruned = upTo;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Pruning order events failed", e);
+        }
+    }
+
+    private long prunedThrough() {
+        return jdbcTemplate.queryForObject("select pruned_through from order_event_retention where id = 1", Long.class);
+    }
+
+    @PreDestroy
+    void shutDown() {
+        scheduler.shutdownNow();
+    }
+
+    private record Waiter(long after, int limit, long deadline, CompletableFuture<CursorPage<OrderEventDTO>> result) {
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.simplecrm.service;
+
+import com.example.simplecrm.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position in the order listing: the (createdAt, id) of the last order on a page, sent to
+ * clients as an opaque URL-safe string.
+ */
+record OrderCursor(LocalDateTime createdAt, Long id) {
+
+    private static final char SEPARATOR = '|';
+
+    String encode() {
+        String raw = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static OrderCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new InvalidCursorException(cursor);
+            }
+            return new OrderCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.valueOf(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+}
@@ -1,8 +1,14 @@
 package com.example.simplecrm.service;
 
+import com.example.simplecrm.dto.CursorPage;
+import com.example.simplecrm.dto.ItemErrorDTO;
+import com.example.simplecrm.dto.Versioned;
+import com.example.simplecrm.dto.order.OrderBatchResultDTO;
 import com.example.simplecrm.dto.order.OrderRequestDTO;
 import com.example.simplecrm.dto.order.OrderResponseDTO;
+import com.example.simplecrm.dto.order.OrderSummaryDTO;
 import com.example.simplecrm.exception.CustomerNotFoundException;
+import com.example.simplecrm.exception.IllegalStatusTransitionException;
 import com.example.simplecrm.exception.OrderNotFoundException;
 import com.example.simplecrm.exception.UnauthorizedAccessException;
 import com.example.simplecrm.mapper.OrderMapper;
@@ -11,24 +17,43 @@ import com.example.simplecrm.model.Order;
 import com.example.simplecrm.model.OrderStatus;
 import com.example.simplecrm.repository.CustomerRepository;
 import com.example.simplecrm.repository.OrderRepository;
+import com.example.simplecrm.repository.OrderSpecifications;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("simplecrm.service")
 public class OrderService {
 
+    private static final int MAX_TRANSITION_ATTEMPTS = 3;
+
     private final OrderRepository orderRepository;
     private final CustomerRepository customerRepository;
     private final OrderMapper orderMapper;
+    private final OrderSummaryService orderSummaryService;
+    private final OrderChangeFeed orderChangeFeed;
 
-    public OrderService(OrderRepository orderRepository, CustomerRepository customerRepository, OrderMapper orderMapper) {
+    public OrderService(OrderRepository orderRepository, CustomerRepository customerRepository, OrderMapper orderMapper,
+                        OrderSummaryService orderSummaryService, OrderChangeFeed orderChangeFeed) {
         this.orderRepository = orderRepository;
         this.customerRepository = customerRepository;
         this.orderMapper = orderMapper;
+        this.orderSummaryService = orderSummaryService;
+        this.orderChangeFeed = orderChangeFeed;
     }
 
+    @Transactional
     public OrderResponseDTO createOrder(OrderRequestDTO request) {
         Customer customer = customerRepository.findById(request.getCustomerId())
                 .orElseThrow(() -> new CustomerNotFoundException(request.getCustomerId()));
@@ -37,9 +62,49 @@ public class OrderService {
         order.setId(null);
         order.setCustomer(customer);
 
-        return orderMapper.toDTO(orderRepository.save(order));
+        Order saved = orderRepository.save(order);
+        orderSummaryService.ordersCreated(List.of(saved));
+        orderChangeFeed.ordersCreated(List.of(saved.getId()));
+        return orderMapper.toDTO(saved);
+    }
+
+    /**
+     * Creates many orders in one transaction. All referenced customers are checked with a single
+     * id-only query and attached as references, so no customer row is loaded; the inserts go out
+     * as JDBC batches. Orders for unknown customers are reported by index and skipped.
+     */
+    @Transactional
+    public OrderBatchResultDTO createOrders(List<OrderRequestDTO> requests) {
+        Set<Long> customerIds = requests.stream()
+                .map(OrderRequestDTO::getCustomerId)
+                .collect(Collectors.toSet());
+        Set<Long> existing = customerIds.isEmpty()
+                ? Set.of()
+                : new HashSet<>(customerRepository.findExistingIds(customerIds));
+
+        List<Order> orders = new ArrayList<>(requests.size());
+        List<ItemErrorDTO> errors = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            OrderRequestDTO request = requests.get(i);
+            if (!existing.contains(request.getCustomerId())) {
+                errors.add(new ItemErrorDTO(i, List.of(new CustomerNotFoundException(request.getCustomerId()).getMessage())));
+                continue;
+            }
+            Order order = orderMapper.toEntity(request);
+            order.setCustomer(customerRepository.getReferenceById(request.getCustomerId()));
+            orders.add(order);
+        }
+
+        List<Order> saved = orderRepository.saveAll(orders);
+        orderSummaryService.ordersCreated(saved);
+        orderChangeFeed.ordersCreated(saved.stream().map(Order::getId).toList());
+        List<OrderResponseDTO> created = saved.stream()
+                .map(orderMapper::toDTO)
+                .toList();
+        return new OrderBatchResultDTO(created, errors);
     }
 
+    @Transactional(readOnly = true)
     public List<OrderResponseDTO> getOrdersByCustomerId(Long customerId) {
         return orderRepository.findByCustomerId(customerId)
                 .stream()
@@ -47,15 +112,128 @@ public class OrderService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * All of the customer's orders with the list version of exactly those rows, so the ETag always
+     * describes the body it is sent with.
+     */
+    @Transactional(readOnly = true)
+    public Versioned<List<OrderResponseDTO>> getVersionedOrdersByCustomerId(Long customerId) {
+        List<Order> orders = orderRepository.findByCustomerId(customerId);
+        long versionSum = 0;
+        long maxId = 0;
+        for (Order order : orders) {
+            versionSum += order.getVersion();
+            maxId = Math.max(maxId, order.getId());
+        }
+        List<OrderResponseDTO> dtos = orders.stream().map(orderMapper::toDTO).toList();
+        return new Versioned<>(dtos, listVersion(orders.size(), versionSum, maxId));
+    }
+
+    /**
+     * Version of the customer's whole order list, computed by the database without loading any order.
+     * Every page and filter of the list shares it. Read it before the page it describes: a version older
+     * than the body only costs the client one more full response, a newer one would pin a stale body.
+     */
+    @Transactional(readOnly = true)
+    public String getOrdersVersion(Long customerId) {
+        OrderRepository.ListVersion version = orderRepository.findListVersionByCustomerId(customerId);
+        return listVersion(version.getOrderCount(), version.getVersionSum(), version.getMaxId());
+    }
+
+    private static String listVersion(long count, long versionSum, long maxId) {
+        return count + "-" + versionSum + "-" + maxId;
+    }
+
+    /**
+     * Returns up to {@code limit} of the customer's orders, newest first, optionally restricted to one
+     * status and to {@code from <= createdAt < to}, continuing after {@code after} (a previous page's
+     * nextCursor). One extra row is fetched to tell whether another page exists.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<OrderResponseDTO> getOrders(Long customerId, OrderStatus status, LocalDateTime from,
+                                                  LocalDateTime to, String after, int limit) {
+        Specification<Order> spec = OrderSpecifications.ofCustomer(customerId);
+        if (status != null) {
+            spec = spec.and(OrderSpecifications.hasStatus(status));
+        }
+        if (from != null) {
+            spec = spec.and(OrderSpecifications.createdFrom(from));
+        }
+        if (to != null) {
+            spec = spec.and(OrderSpecifications.createdBefore(to));
+        }
+        if (after != null) {
+            OrderCursor cursor = OrderCursor.decode(after);
+            spec = spec.and(OrderSpecifications.after(cursor.createdAt(), cursor.id()));
+        }
+
+        List<Order> rows = orderRepository.findBy(spec, query -> query
+                .sortBy(OrderSpecifications.NEWEST_FIRST)
+                .limit(limit + 1)
+                .all());
+
+        boolean hasMore = rows.size() > limit;
+        List<Order> page = hasMore ? rows.subList(0, limit) : rows;
+        Order last = hasMore ? page.get(page.size() - 1) : null;
+        String nextCursor = last != null ? new OrderCursor(last.getCreatedAt(), last.getId()).encode() : null;
+
+        return new CursorPage<>(page.stream().map(orderMapper::toDTO).toList(), nextCursor);
+    }
+
+    /**
+     * Applies a status change with one conditional UPDATE that checks ownership and the transition
+     * table and bumps the version, so concurrent updates cannot overwrite each other. Only when
+     * nothing was updated is the order read again, to report which check failed.
+     * <p>
+     * The UPDATE cannot hand back the row portably (PostgreSQL has RETURNING, H2 does not), so a
+     * successful change is followed by a primary-key read of the order for the response. That read
+     * is deliberate; it comes after the row is already changed, so it cannot race with other writers.
+     * <p>
+     * The materialized order summary needs the status being left. When the target has several
+     * possible predecessors that is read first, and the UPDATE is then conditional on it. If the
+     * order keeps moving under us for {@value #MAX_TRANSITION_ATTEMPTS} UPDATEs, the change fails as
+     * a concurrent modification rather than as an illegal transition.
+     */
+    @Transactional
     public OrderResponseDTO updateOrderStatus(Long orderId, OrderStatus status, Long customerId) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new OrderNotFoundException(orderId));
+        Set<OrderStatus> from = status.allowedPredecessors();
+        OrderStatus current = null;
+        int updates = 0;
+        while (true) {
+            Set<OrderStatus> expected = current == null ? from : EnumSet.of(current);
+            boolean previousKnown = expected.size() == 1;
+            if ((previousKnown || !orderSummaryService.isMaterialized()) && !expected.isEmpty()) {
+                updates++;
+                if (orderRepository.transitionStatus(orderId, customerId, status, expected) == 1) {
+                    Order order = orderRepository.findById(orderId)
+                            .orElseThrow(() -> new OrderNotFoundException(orderId));
+                    if (previousKnown) {
+                        orderSummaryService.statusChanged(customerId, expected.iterator().next(), status, order.getAmount());
+                    }
+                    orderChangeFeed.statusChanged(orderId);
+                    return orderMapper.toDTO(order);
+                }
+            }
 
-        if (!order.getCustomer().getId().equals(customerId)) {
-            throw new UnauthorizedAccessException();
+            OrderRepository.StatusView view = orderRepository.findStatusViewById(orderId)
+                    .orElseThrow(() -> new OrderNotFoundException(orderId));
+            if (!view.getCustomerId().equals(customerId)) {
+                throw new UnauthorizedAccessException();
+            }
+            current = view.getStatus();
+            if (!current.canTransitionTo(status)) {
+                throw new IllegalStatusTransitionException(orderId, current, status);
+            }
+            if (updates == MAX_TRANSITION_ATTEMPTS) {
+                throw new ObjectOptimisticLockingFailureException(Order.class, orderId);
+            }
+            // Another update moved the order into a status we can leave between our UPDATE and this read,
+            // or the status was only read now so the UPDATE can name it.
         }
+    }
 
-        order.setStatus(status);
-        return orderMapper.toDTO(orderRepository.save(order));
+    @Transactional(readOnly = true)
+    public OrderSummaryDTO getOrderSummary(Long customerId) {
+        return orderSummaryService.getSummary(customerId);
     }
 }
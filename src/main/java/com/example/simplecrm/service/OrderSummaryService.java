@@ -0,0 +1,114 @@
+package com.example.simplecrm.service;
+
+import com.example.simplecrm.dto.order.OrderStatusTotalsDTO;
+import com.example.simplecrm.dto.order.OrderSummaryDTO;
+import com.example.simplecrm.model.Order;
+import com.example.simplecrm.model.OrderStatus;
+import com.example.simplecrm.repository.OrderRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Lifetime order totals per customer. By default they are aggregated from the orders table on every read,
+ * which costs one index range read over all of the customer's orders. With
+ * {@code simplecrm.orders.summary.materialized} on, {@link OrderService} keeps the order_summary table up
+ * to date in the same transaction as each write, and a read costs one row per status instead.
+ * <p>
+ * The table is filled from existing orders when it is created (V5). Orders written while the flag is off
+ * are not counted, so a database that ran without it must have the table refilled before it is turned on.
+ */
+@Service
+@Timed("simplecrm.service")
+public class OrderSummaryService {
+
+    private final OrderRepository orderRepository;
+    private final boolean materialized;
+
+    public OrderSummaryService(OrderRepository orderRepository,
+                               @Value("${simplecrm.orders.summary.materialized:false}") boolean materialized) {
+        this.orderRepository = orderRepository;
+        this.materialized = materialized;
+    }
+
+    public boolean isMaterialized() {
+        return materialized;
+    }
+
+    public OrderSummaryDTO getSummary(Long customerId) {
+        List<OrderRepository.StatusTotals> rows = materialized
+                ? orderRepository.findSummaryByCustomerId(customerId)
+                : orderRepository.summarizeByCustomerId(customerId);
+
+        Map<OrderStatus, OrderStatusTotalsDTO> byStatus = new EnumMap<>(OrderStatus.class);
+        for (OrderStatus status : OrderStatus.values()) {
+            byStatus.put(status, new OrderStatusTotalsDTO(0, BigDecimal.ZERO));
+        }
+        long orderCount = 0;
+        BigDecimal totalAmount = BigDecimal.ZERO;
+        LocalDateTime first = null;
+        LocalDateTime last = null;
+        for (OrderRepository.StatusTotals row : rows) {
+            byStatus.put(row.getStatus(), new OrderStatusTotalsDTO(row.getOrderCount(), row.getTotalAmount()));
+            orderCount += row.getOrderCount();
+            totalAmount = totalAmount.add(row.getTotalAmount());
+            first = earliest(first, row.getFirstCreatedAt());
+            last = latest(last, row.getLastCreatedAt());
+        }
+        return new OrderSummaryDTO(customerId, orderCount, totalAmount, first, last, byStatus);
+    }
+
+    /** Counts saved orders as NEW. Must run in the transaction that inserted them. */
+    public void ordersCreated(List<Order> orders) {
+        if (!materialized || orders.isEmpty()) {
+            return;
+        }
+        Map<Long, List<Order>> byCustomer = orders.stream()
+                .collect(Collectors.groupingBy(order -> order.getCustomer().getId()));
+        byCustomer.forEach((customerId, created) -> {
+            String status = OrderStatus.NEW.name();
+            orderRepository.ensureSummaryRow(customerId, status);
+            orderRepository.addCreatedToSummary(customerId, status, created.size(), total(created),
+                    created.stream().map(Order::getCreatedAt).min(Comparator.naturalOrder()).orElseThrow(),
+                    created.stream().map(Order::getCreatedAt).max(Comparator.naturalOrder()).orElseThrow());
+        });
+    }
+
+    /**
+     * Moves one order's totals between status rows. Must run in the transaction that changed its status.
+     * Transitions only go forward in {@link OrderStatus} order, so the rows are always locked in the same
+     * order and concurrent transitions cannot deadlock on them.
+     */
+    public void statusChanged(Long customerId, OrderStatus from, OrderStatus to, BigDecimal amount) {
+        if (!materialized) {
+            return;
+        }
+        BigDecimal value = amount == null ? BigDecimal.ZERO : amount;
+        orderRepository.addToSummary(customerId, from.name(), -1, value.negate());
+        orderRepository.ensureSummaryRow(customerId, to.name());
+        orderRepository.addToSummary(customerId, to.name(), 1, value);
+    }
+
+    private static BigDecimal total(List<Order> orders) {
+        return orders.stream()
+                .map(Order::getAmount)
+                .filter(amount -> amount != null)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private static LocalDateTime earliest(LocalDateTime a, LocalDateTime b) {
+        return a == null || (b != null && b.isBefore(a)) ? b : a;
+    }
+
+    private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        return a == null || (b != null && b.isAfter(a)) ? b : a;
+    }
+}
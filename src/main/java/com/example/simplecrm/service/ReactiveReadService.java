@@ -0,0 +1,54 @@
+package com.example.simplecrm.service;
+
+import com.example.simplecrm.dto.CursorPage;
+import com.example.simplecrm.dto.CustomerResponseDTO;
+import com.example.simplecrm.dto.order.OrderResponseDTO;
+import com.example.simplecrm.exception.CustomerNotFoundException;
+import com.example.simplecrm.repository.ReactiveCustomerRepository;
+import com.example.simplecrm.repository.ReactiveOrderRepository;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non-blocking counterparts of the read operations in {@link CustomerService} and {@link OrderService}.
+ * Nothing here holds a servlet thread or a JDBC connection while waiting for the database.
+ */
+@Service
+public class ReactiveReadService {
+
+    private final ReactiveCustomerRepository customerRepository;
+    private final ReactiveOrderRepository orderRepository;
+
+    public ReactiveReadService(ReactiveCustomerRepository customerRepository, ReactiveOrderRepository orderRepository) {
+        this.customerRepository = customerRepository;
+        this.orderRepository = orderRepository;
+    }
+
+    public Mono<CustomerResponseDTO> getCustomerById(Long id) {
+        return customerRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new CustomerNotFoundException(id)));
+    }
+
+    /** Same paging contract as {@link CustomerService#getCustomers(Long, int)}. */
+    public Mono<CursorPage<CustomerResponseDTO>> getCustomers(Long after, int limit) {
+        return customerRepository.findAfter(after == null ? 0L : after, limit + 1)
+                .collectList()
+                .map(rows -> {
+                    boolean hasMore = rows.size() > limit;
+                    List<CustomerResponseDTO> page = hasMore ? rows.subList(0, limit) : rows;
+                    String nextCursor = hasMore ? String.valueOf(page.get(page.size() - 1).getId()) : null;
+                    return new CursorPage<>(page, nextCursor);
+                });
+    }
+
+    public Flux<CustomerResponseDTO> streamCustomers(Long after, int limit) {
+        return customerRepository.findAfter(after == null ? 0L : after, limit);
+    }
+
+    public Flux<OrderResponseDTO> getOrdersByCustomerId(Long customerId) {
+        return orderRepository.findByCustomerId(customerId);
+    }
+}
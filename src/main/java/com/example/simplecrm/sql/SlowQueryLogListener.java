@@ -0,0 +1,73 @@
+package com.example.simplecrm.sql;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Logs statements slower than the threshold at WARN, and a random {@code sampleRate} fraction of the
+ * others at INFO. Each line carries the SQL text, the number of bound parameters (never their values),
+ * the duration and the endpoint that issued it.
+ */
+@Slf4j
+class SlowQueryLogListener implements QueryExecutionListener {
+
+    private final long thresholdMillis;
+    private final double sampleRate;
+
+    SlowQueryLogListener(Duration threshold, double sampleRate) {
+        this.thresholdMillis = threshold.toMillis();
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsed = execInfo.getElapsedTime();
+        if (elapsed >= thresholdMillis) {
+            if (log.isWarnEnabled()) {
+                log.warn(format("slow", execInfo, queryInfoList));
+            }
+        } else if (sampleRate > 0 && log.isInfoEnabled() && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            log.info(format("sampled", execInfo, queryInfoList));
+        }
+    }
+
+    private static String format(String kind, ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        int binds = 0;
+        for (QueryInfo query : queryInfoList) {
+            for (var parameters : query.getParametersList()) {
+                binds += parameters.size();
+            }
+        }
+        String sql = queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; "));
+        return kind + " query: " + execInfo.getElapsedTime() + " ms, " + binds + " binds"
+                + (execInfo.isBatch() ? ", batch of " + execInfo.getBatchSize() : "")
+                + ", endpoint " + endpoint() + ", sql: " + sql;
+    }
+
+    /** Method and URI template of the request on this thread, or the thread name outside a request. */
+    private static String endpoint() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            HttpServletRequest request = servletAttributes.getRequest();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            return request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+        }
+        return "[" + Thread.currentThread().getName() + "]";
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.simplecrm.sql;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Wraps every {@link DataSource} bean in a datasource-proxy that reports to {@link SqlStatisticsListener}
+ * and {@link SlowQueryLogListener}, each when enabled. With both disabled the DataSource is left unwrapped.
+ */
+@Component
+public class SqlProxyDataSourcePostProcessor implements BeanPostProcessor {
+
+    private final boolean statisticsEnabled;
+    private final boolean slowQueryLogEnabled;
+    private final Duration slowQueryThreshold;
+    private final double sampleRate;
+
+    public SqlProxyDataSourcePostProcessor(
+            @Value("${simplecrm.sql.statistics.enabled:true}") boolean statisticsEnabled,
+            @Value("${simplecrm.sql.slow-query.enabled:true}") boolean slowQueryLogEnabled,
+            @Value("${simplecrm.sql.slow-query.threshold:500ms}") Duration slowQueryThreshold,
+            @Value("${simplecrm.sql.slow-query.sample-rate:0}") double sampleRate) {
+        this.statisticsEnabled = statisticsEnabled;
+        this.slowQueryLogEnabled = slowQueryLogEnabled;
+        this.slowQueryThreshold = slowQueryThreshold;
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource
+                || !(statisticsEnabled || slowQueryLogEnabled)) {
+            return bean;
+        }
+        ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(dataSource).name(beanName);
+        if (statisticsEnabled) {
+            SqlStatisticsListener listener = new SqlStatisticsListener();
+            builder.listener(listener)
+                    .methodListener(listener)
+                    .proxyResultSet();
+        }
+        if (slowQueryLogEnabled) {
+            builder.listener(new SlowQueryLogListener(slowQueryThreshold, sampleRate));
+        }
+        return builder.build();
+    }
+}
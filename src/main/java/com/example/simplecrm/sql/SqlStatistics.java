@@ -0,0 +1,64 @@
+package com.example.simplecrm.sql;
+
+/**
+ * JDBC statements executed, rows fetched and time spent in the database by the current request.
+ * Bound to the request thread by {@link SqlStatisticsFilter}; work done on other threads is not counted.
+ */
+public final class SqlStatistics {
+
+    private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long rows;
+    private long dbTimeNanos;
+    private long statementStart;
+
+    private SqlStatistics() {
+    }
+
+    public static SqlStatistics start() {
+        SqlStatistics statistics = new SqlStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    /** Binds statistics started on another thread, for the async dispatch of the same request. */
+    public static void resume(SqlStatistics statistics) {
+        CURRENT.set(statistics);
+    }
+
+    /** Statistics of the request running on this thread, or {@code null} outside a request. */
+    public static SqlStatistics current() {
+        return CURRENT.get();
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    void beforeStatement() {
+        statementStart = System.nanoTime();
+    }
+
+    void afterStatement() {
+        statements++;
+        dbTimeNanos += System.nanoTime() - statementStart;
+    }
+
+    void rowFetched() {
+        rows++;
+    }
+
+    /** Executed statements; a JDBC batch counts once, as it is one round-trip. */
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getDbTimeNanos() {
+        return dbTimeNanos;
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.simplecrm.sql;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opens a {@link SqlStatistics} scope around each API request and publishes the totals as
+ * {@code simplecrm.sql.statements}, {@code simplecrm.sql.rows} and {@code simplecrm.sql.time},
+ * tagged with the request method and URI template.
+ * <p>
+ * An async request keeps its scope across the dispatch that writes the response, so the debug headers
+ * include statements run when the handler started; it is published once, when the request completes.
+ */
+@Component
+@ConditionalOnProperty(name = "simplecrm.sql.statistics.enabled", matchIfMissing = true)
+public class SqlStatisticsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+
+    private static final String STATISTICS_ATTRIBUTE = SqlStatisticsFilter.class.getName() + ".statistics";
+
+    public SqlStatisticsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatistics statistics = (SqlStatistics) request.getAttribute(STATISTICS_ATTRIBUTE);
+        if (statistics != null) {
+            SqlStatistics.resume(statistics);
+        } else {
+            statistics = SqlStatistics.start();
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStatistics.stop();
+            if (isAsyncStarted(request)) {
+                request.setAttribute(STATISTICS_ATTRIBUTE, statistics);
+            } else {
+                record(request, statistics);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStatistics statistics) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Tags tags = Tags.of("method", request.getMethod(), "uri", pattern != null ? pattern.toString() : "UNKNOWN");
+
+        DistributionSummary.builder("simplecrm.sql.statements")
+                .description("JDBC statements executed per request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(statistics.getStatements());
+        DistributionSummary.builder("simplecrm.sql.rows")
+                .description("Rows fetched per request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(statistics.getRows());
+        Timer.builder("simplecrm.sql.time")
+                .description("Time spent executing JDBC statements per request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(statistics.getDbTimeNanos(), TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.simplecrm.sql;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.sql.ResultSet;
+import java.util.List;
+
+/**
+ * Feeds the proxied datasource's statement executions and {@code ResultSet.next()} calls
+ * into the current request's {@link SqlStatistics}.
+ */
+class SqlStatisticsListener implements QueryExecutionListener, MethodExecutionListener {
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SqlStatistics statistics = SqlStatistics.current();
+        if (statistics != null) {
+            statistics.beforeStatement();
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SqlStatistics statistics = SqlStatistics.current();
+        if (statistics != null) {
+            statistics.afterStatement();
+        }
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        if (executionContext.getTarget() instanceof ResultSet
+                && Boolean.TRUE.equals(executionContext.getResult())
+                && "next".equals(executionContext.getMethod().getName())) {
+            SqlStatistics statistics = SqlStatistics.current();
+            if (statistics != null) {
+                statistics.rowFetched();
+            }
+        }
+    }
+}
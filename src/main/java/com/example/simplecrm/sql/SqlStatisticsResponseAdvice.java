@@ -0,0 +1,68 @@
+package com.example.simplecrm.sql;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * In the {@code debug} profile, reports the request's SQL statistics as response headers.
+ * Headers are added just before the body is written, after all handler queries have run; responses
+ * without a body (such as a 304 from a conditional GET) get them once the handler returns.
+ */
+@RestControllerAdvice
+@Profile("debug")
+public class SqlStatisticsResponseAdvice implements ResponseBodyAdvice<Object>, WebMvcConfigurer {
+
+    public static final String STATEMENTS_HEADER = "X-Sql-Statements";
+    public static final String ROWS_HEADER = "X-Sql-Rows";
+    public static final String TIME_HEADER = "X-Sql-Time-Micros";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        writeHeaders(response.getHeaders()::set);
+        return body;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                   ModelAndView modelAndView) {
+                if (!response.isCommitted() && !response.containsHeader(STATEMENTS_HEADER)) {
+                    writeHeaders(response::setHeader);
+                }
+            }
+        });
+    }
+
+    private static void writeHeaders(BiConsumer<String, String> header) {
+        SqlStatistics statistics = SqlStatistics.current();
+        if (statistics != null) {
+            header.accept(STATEMENTS_HEADER, String.valueOf(statistics.getStatements()));
+            header.accept(ROWS_HEADER, String.valueOf(statistics.getRows()));
+            header.accept(TIME_HEADER, String.valueOf(TimeUnit.NANOSECONDS.toMicros(statistics.getDbTimeNanos())));
+        }
+    }
+}
@@ -0,0 +1,30 @@
+-- Tables as previously generated by Hibernate. IF NOT EXISTS lets databases that were
+-- created by ddl-auto=update be adopted without changes.
+
+create sequence if not exists customer_seq start with 1 increment by 50;
+create sequence if not exists orders_seq start with 1 increment by 50;
+
+create table if not exists customer (
+    id    bigint       not null,
+    name  varchar(255),
+    email varchar(255),
+    phone varchar(255),
+    constraint pk_customer primary key (id)
+);
+
+create table if not exists orders (
+    id          bigint        not null,
+    description varchar(255),
+    amount      numeric(38, 2),
+    status      varchar(255),
+    created_at  timestamp(6),
+    customer_id bigint,
+    version     bigint        default 0 not null,
+    constraint pk_orders primary key (id),
+    constraint fk_orders_customer foreign key (customer_id) references customer (id)
+);
+
+-- Rows written before orders were versioned
+alter table orders add column if not exists version bigint default 0;
+update orders set version = 0 where version is null;
+alter table orders alter column version set not null;
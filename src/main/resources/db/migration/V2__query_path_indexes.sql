@@ -0,0 +1,8 @@
+-- FK lookup: OrderRepository.findByCustomerId and the ON DELETE check from customer
+create index if not exists idx_orders_customer_id on orders (customer_id);
+
+-- Per-customer order listing, newest first, with (created_at, id) as the keyset
+create index if not exists idx_orders_customer_created_at_id on orders (customer_id, created_at, id);
+
+-- One customer per email address
+create unique index if not exists uq_customer_email on customer (email);
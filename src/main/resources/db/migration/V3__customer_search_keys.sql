@@ -0,0 +1,11 @@
+-- Normalised copies of name, email and phone for GET /api/customers/search, maintained by the
+-- Customer entity on every insert and update. Backfilled here for existing rows.
+alter table customer add column if not exists search_name varchar(255);
+alter table customer add column if not exists search_email varchar(255);
+alter table customer add column if not exists search_phone varchar(255);
+
+update customer
+set search_name  = lower(trim(name)),
+    search_email = lower(trim(email)),
+    search_phone = replace(replace(replace(phone, '+', ''), '-', ''), ' ', '')
+where search_name is null;
@@ -0,0 +1,19 @@
+-- Per-customer, per-status order totals, maintained by OrderService when
+-- simplecrm.orders.summary.materialized is on. first/last_created_at only ever widen: they are set when an
+-- order is created and left alone when it changes status, so min/max across a customer's rows is exact.
+create table if not exists order_summary (
+    customer_id      bigint         not null,
+    status           varchar(255)   not null,
+    order_count      bigint         not null,
+    total_amount     numeric(38, 2) not null,
+    first_created_at timestamp(6),
+    last_created_at  timestamp(6),
+    constraint pk_order_summary primary key (customer_id, status),
+    constraint fk_order_summary_customer foreign key (customer_id) references customer (id) on delete cascade
+);
+
+insert into order_summary (customer_id, status, order_count, total_amount, first_created_at, last_created_at)
+select customer_id, status, count(*), coalesce(sum(amount), 0), min(created_at), max(created_at)
+from orders
+where customer_id is not null and status is not null
+group by customer_id, status;
@@ -0,0 +1,3 @@
+-- Per-customer order listing filtered by status, newest first, with (created_at, id) as the keyset.
+-- Unfiltered listings keep using idx_orders_customer_created_at_id.
+create index if not exists idx_orders_customer_status_created_at_id on orders (customer_id, status, created_at, id);
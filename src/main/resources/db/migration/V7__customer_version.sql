@@ -0,0 +1,4 @@
+-- Optimistic-lock version for customers, also used as the ETag of GET /api/customers/{id}
+alter table customer add column if not exists version bigint default 0;
+update customer set version = 0 where version is null;
+alter table customer alter column version set not null;
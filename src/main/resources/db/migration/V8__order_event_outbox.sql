@@ -0,0 +1,25 @@
+-- Transactional outbox of order changes, appended by OrderService in the transaction of each write and
+-- read in id order by GET /api/orders/changes. Ids come from an identity without a cache, so a gap is
+-- either a transaction still in flight or one that rolled back.
+create table if not exists order_event (
+    id          bigint generated by default as identity,
+    order_id    bigint        not null,
+    customer_id bigint        not null,
+    type        varchar(32)   not null,
+    status      varchar(255),
+    amount      numeric(38, 2),
+    occurred_at timestamp(6)  not null,
+    constraint pk_order_event primary key (id)
+);
+
+create index if not exists idx_order_event_occurred_at on order_event (occurred_at);
+
+-- Highest event id removed by retention. A feed cursor below it has missed events.
+create table if not exists order_event_retention (
+    id             int    not null,
+    pruned_through bigint not null,
+    constraint pk_order_event_retention primary key (id)
+);
+
+insert into order_event_retention (id, pruned_through)
+select 1, 0 where not exists (select 1 from order_event_retention);
@@ -0,0 +1,89 @@
+package com.example.simplecrm.benchmark;
+
+import com.example.simplecrm.SimplecrmApplication;
+import com.example.simplecrm.dto.BulkImportResultDTO;
+import com.example.simplecrm.dto.CustomerRequestDTO;
+import com.example.simplecrm.repository.CustomerRepository;
+import com.example.simplecrm.service.CustomerImportService;
+import com.example.simplecrm.service.CustomerService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rows per second for {@code POST /api/customers/bulk} against one {@code createCustomer} call per row,
+ * on an embedded H2 database. Against a networked Postgres the gap is wider, since every single insert
+ * also pays a round-trip.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BulkImportBenchmark {
+
+    private static final int ROWS = 1000;
+
+    private ConfigurableApplicationContext context;
+    private CustomerService customerService;
+    private CustomerImportService customerImportService;
+    private CustomerRepository customerRepository;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(SimplecrmApplication.class)
+                .profiles("test")
+                .properties("server.port=0")
+                .run();
+        customerService = context.getBean(CustomerService.class);
+        customerImportService = context.getBean(CustomerImportService.class);
+        customerRepository = context.getBean(CustomerRepository.class);
+    }
+
+    @TearDown(Level.Iteration)
+    public void truncate() {
+        customerRepository.deleteAllInBatch();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long singleInserts() {
+        long lastId = 0;
+        for (int i = 0; i < ROWS; i++) {
+            CustomerRequestDTO request = new CustomerRequestDTO();
+            long n = sequence++;
+            request.setName("Customer " + n);
+            request.setEmail("customer" + n + "@mail.com");
+            request.setPhone("+1555" + String.format("%07d", n % 10_000_000));
+            lastId = customerService.createCustomer(request).getId();
+        }
+        return lastId;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public BulkImportResultDTO bulkImport() throws IOException {
+        StringBuilder body = new StringBuilder(ROWS * 80);
+        for (int i = 0; i < ROWS; i++) {
+            long n = sequence++;
+            body.append("{\"name\":\"Customer ").append(n)
+                    .append("\",\"email\":\"customer").append(n)
+                    .append("@mail.com\",\"phone\":\"+1555").append(String.format("%07d", n % 10_000_000))
+                    .append("\"}\n");
+        }
+        return customerImportService.importCustomers(
+                new ByteArrayInputStream(body.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+}
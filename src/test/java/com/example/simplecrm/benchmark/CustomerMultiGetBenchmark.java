@@ -0,0 +1,95 @@
+package com.example.simplecrm.benchmark;
+
+import com.example.simplecrm.SimplecrmApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Fetching a batch of customers over HTTP: one {@code GET /api/customers/{id}} per id, as the order
+ * service does today, against a single {@code GET /api/customers?ids=...}. Scores are per batch.
+ * The customer cache is switched off so both sides read the database on every call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CustomerMultiGetBenchmark {
+
+    private static final int CUSTOMERS = 100_000;
+
+    @Param({"50", "500"})
+    public int batch;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(SimplecrmApplication.class)
+                .profiles("test")
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:multi-get-benchmark;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "--simplecrm.cache.customers.maximum-size=0");
+        context.getBean(JdbcTemplate.class).update("""
+                insert into customer (id, name, email, phone, search_name, search_email, search_phone)
+                select n, 'Customer ' || n, 'user' || n || '@mail.com', '+1 555-' || n,
+                       'customer ' || n, 'user' || n || '@mail.com', '1555' || n
+                from system_range(1, ?) as r(n)""", CUSTOMERS);
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        baseUrl = "http://localhost:" + port + "/api/customers";
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public int singleGets() throws Exception {
+        int bytes = 0;
+        for (long id : randomIds()) {
+            bytes += send(baseUrl + "/" + id);
+        }
+        return bytes;
+    }
+
+    @Benchmark
+    public int multiGet() throws Exception {
+        String ids = randomIds().stream().map(String::valueOf).collect(Collectors.joining(","));
+        return send(baseUrl + "?ids=" + ids);
+    }
+
+    private List<Long> randomIds() {
+        return LongStream.generate(() -> ThreadLocalRandom.current().nextLong(1, CUSTOMERS + 1))
+                .limit(batch)
+                .boxed()
+                .toList();
+    }
+
+    private int send(String url) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(HttpRequest.newBuilder(URI.create(url)).build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(url + " answered " + response.statusCode());
+        }
+        return response.body().length;
+    }
+}
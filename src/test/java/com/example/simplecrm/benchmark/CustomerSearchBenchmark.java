@@ -0,0 +1,88 @@
+package com.example.simplecrm.benchmark;
+
+import com.example.simplecrm.SimplecrmApplication;
+import com.example.simplecrm.dto.CustomerResponseDTO;
+import com.example.simplecrm.service.CustomerService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency distribution of {@code CustomerService.search} (the body of {@code GET /api/customers/search})
+ * over a few million customers on embedded H2. Sample-time mode reports p99 and p99.9 directly; prefixes
+ * are drawn at random so both broad ("customer 1") and narrow matches are measured.
+ *
+ * <p>The database is a file under target/ so its rows do not sit on the benchmark heap (an in-memory
+ * database of this size turns GC pauses into the p99). It is seeded once and reused by later runs.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@State(Scope.Benchmark)
+public class CustomerSearchBenchmark {
+
+    private static final int LIMIT = 20;
+    private static final int SEED_CHUNK = 100_000;
+
+    @Param("2000000")
+    public int customers;
+
+    private ConfigurableApplicationContext context;
+    private CustomerService customerService;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(SimplecrmApplication.class)
+                .profiles("test")
+                .properties("server.port=0")
+                // a command-line argument, so it wins over the url in application-test.properties
+                .run("--spring.datasource.url=jdbc:h2:file:./target/search-benchmark/simplecrm;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE");
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        if (jdbcTemplate.queryForObject("select count(*) from customer", Integer.class) != customers) {
+            jdbcTemplate.update("delete from orders");
+            jdbcTemplate.update("delete from customer");
+            for (int from = 1; from <= customers; from += SEED_CHUNK) {
+                jdbcTemplate.update("""
+                        insert into customer (id, name, email, phone, search_name, search_email, search_phone)
+                        select n, 'Customer ' || n, 'user' || n || '@mail.com', '+1 555-' || n,
+                               'customer ' || n, 'user' || n || '@mail.com', '1555' || n
+                        from system_range(?, ?) as r(n)""", from, Math.min(from + SEED_CHUNK - 1, customers));
+            }
+        }
+        customerService = context.getBean(CustomerService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<CustomerResponseDTO> byNamePrefix() {
+        return customerService.search("customer " + randomPrefix(), LIMIT);
+    }
+
+    @Benchmark
+    public List<CustomerResponseDTO> byEmailPrefix() {
+        return customerService.search("user" + randomPrefix(), LIMIT);
+    }
+
+    @Benchmark
+    public List<CustomerResponseDTO> byPhonePrefix() {
+        return customerService.search("+1 555-" + randomPrefix(), LIMIT);
+    }
+
+    /** Leading digits of a random id, one to all of them. */
+    private String randomPrefix() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String id = String.valueOf(random.nextInt(1, customers + 1));
+        return id.substring(0, random.nextInt(1, id.length() + 1));
+    }
+}
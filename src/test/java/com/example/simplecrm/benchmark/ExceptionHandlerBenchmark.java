@@ -0,0 +1,58 @@
+package com.example.simplecrm.benchmark;
+
+import com.example.simplecrm.dto.CustomerRequestDTO;
+import com.example.simplecrm.exception.CustomerNotFoundException;
+import com.example.simplecrm.exception.GlobalExceptionHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of an error response: throwing the exception (stack trace included) and building the
+ * body in {@link GlobalExceptionHandler}. Not-found lookups are common enough on public ids that
+ * this sits on the hot path.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExceptionHandlerBenchmark {
+
+    private GlobalExceptionHandler handler;
+    private MethodArgumentNotValidException validationException;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        handler = new GlobalExceptionHandler(new SimpleMeterRegistry());
+
+        CustomerRequestDTO request = new CustomerRequestDTO();
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(request, "customerRequestDTO");
+        bindingResult.rejectValue("name", "NotBlank", "Name is required!");
+        bindingResult.rejectValue("phone", "Pattern", "Phone must be a valid number");
+        MethodParameter parameter = new MethodParameter(
+                ExceptionHandlerBenchmark.class.getDeclaredMethod("target", CustomerRequestDTO.class), 0);
+        validationException = new MethodArgumentNotValidException(parameter, bindingResult);
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, Object>> customerNotFound() {
+        return handler.handleRuntime(new CustomerNotFoundException(42L));
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, Object>> validationErrors() {
+        return handler.handleValidationErrors(validationException);
+    }
+
+    @SuppressWarnings("unused")
+    private void target(CustomerRequestDTO request) {
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.simplecrm.benchmark;
+
+import com.example.simplecrm.dto.CustomerRequestDTO;
+import com.example.simplecrm.dto.CustomerResponseDTO;
+import com.example.simplecrm.dto.order.OrderRequestDTO;
+import com.example.simplecrm.dto.order.OrderResponseDTO;
+import com.example.simplecrm.mapper.CustomerMapper;
+import com.example.simplecrm.mapper.CustomerMapperImpl;
+import com.example.simplecrm.mapper.OrderMapper;
+import com.example.simplecrm.mapper.OrderMapperImpl;
+import com.example.simplecrm.model.Customer;
+import com.example.simplecrm.model.Order;
+import com.example.simplecrm.model.OrderStatus;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generated MapStruct mappers against the reflective ModelMapper they replaced.
+ * Run with the {@code benchmark} profile; the gc profiler reports bytes allocated
+ * per mapped object as {@code gc.alloc.rate.norm}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    private ModelMapper modelMapper;
+    private CustomerMapper customerMapper;
+    private OrderMapper orderMapper;
+
+    private Customer customer;
+    private CustomerRequestDTO customerRequest;
+    private Order order;
+    private OrderRequestDTO orderRequest;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        customerMapper = new CustomerMapperImpl();
+        orderMapper = new OrderMapperImpl();
+
+        customer = new Customer();
+        customer.setId(42L);
+        customer.setName("Bob Smith");
+        customer.setEmail("bob@mail.com");
+        customer.setPhone("+1 555-0100");
+
+        customerRequest = new CustomerRequestDTO();
+        customerRequest.setName("Bob Smith");
+        customerRequest.setEmail("bob@mail.com");
+        customerRequest.setPhone("+1 555-0100");
+
+        order = new Order();
+        order.setId(1000L);
+        order.setDescription("Annual support plan");
+        order.setAmount(new BigDecimal("1299.90"));
+        order.setStatus(OrderStatus.PROCESSING);
+        order.setCreatedAt(LocalDateTime.of(2024, 5, 1, 12, 30));
+        order.setCustomer(customer);
+
+        orderRequest = new OrderRequestDTO();
+        orderRequest.setDescription("Annual support plan");
+        orderRequest.setAmount(new BigDecimal("1299.90"));
+        orderRequest.setCustomerId(42L);
+    }
+
+    @Benchmark
+    public CustomerResponseDTO customerToDto_modelMapper() {
+        return modelMapper.map(customer, CustomerResponseDTO.class);
+    }
+
+    @Benchmark
+    public CustomerResponseDTO customerToDto_generated() {
+        return customerMapper.toDTO(customer);
+    }
+
+    @Benchmark
+    public Customer customerToEntity_modelMapper() {
+        return modelMapper.map(customerRequest, Customer.class);
+    }
+
+    @Benchmark
+    public Customer customerToEntity_generated() {
+        return customerMapper.toEntity(customerRequest);
+    }
+
+    @Benchmark
+    public OrderResponseDTO orderToDto_modelMapper() {
+        return modelMapper.map(order, OrderResponseDTO.class);
+    }
+
+    @Benchmark
+    public OrderResponseDTO orderToDto_generated() {
+        return orderMapper.toDTO(order);
+    }
+
+    @Benchmark
+    public Order orderToEntity_modelMapper() {
+        return modelMapper.map(orderRequest, Order.class);
+    }
+
+    @Benchmark
+    public Order orderToEntity_generated() {
+        return orderMapper.toEntity(orderRequest);
+    }
+}
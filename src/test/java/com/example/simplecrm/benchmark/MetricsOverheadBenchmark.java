@@ -0,0 +1,86 @@
+package com.example.simplecrm.benchmark;
+
+import com.example.simplecrm.cache.CustomerCache;
+import com.example.simplecrm.dto.CustomerResponseDTO;
+import com.example.simplecrm.mapper.CustomerMapperImpl;
+import com.example.simplecrm.service.CustomerService;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What the hot-path instrumentation adds to one call: a cached {@code getCustomerById} with and
+ * without the {@code @Timed} aspect (recording into a Prometheus registry with histogram buckets, as
+ * configured in application.properties), and the error counter lookup done by GlobalExceptionHandler.
+ * Run with {@code -t 4} as well to see contention on the shared timer.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetricsOverheadBenchmark {
+
+    private static final long ID = 42L;
+
+    private PrometheusMeterRegistry registry;
+    private CustomerService plain;
+    private CustomerService timed;
+
+    @Setup
+    public void setUp() {
+        registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        registry.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                return DistributionStatisticConfig.builder()
+                        .percentilesHistogram(true)
+                        .minimumExpectedValue((double) Duration.ofNanos(100_000).toNanos())
+                        .maximumExpectedValue((double) Duration.ofSeconds(10).toNanos())
+                        .build()
+                        .merge(config);
+            }
+        });
+
+        CustomerCache cache = new CustomerCache(100, Duration.ofMinutes(10));
+        plain = new CustomerService(null, new CustomerMapperImpl(), cache, registry);
+        CustomerResponseDTO customer = new CustomerResponseDTO();
+        customer.setId(ID);
+        customer.setName("Bob Smith");
+        cache.get(ID, id -> customer);
+
+        AspectJProxyFactory factory = new AspectJProxyFactory(plain);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new TimedAspect(registry));
+        timed = factory.getProxy();
+    }
+
+    @Benchmark
+    public CustomerResponseDTO cachedRead_uninstrumented() {
+        return plain.getCustomerById(ID);
+    }
+
+    @Benchmark
+    public CustomerResponseDTO cachedRead_timed() {
+        return timed.getCustomerById(ID);
+    }
+
+    @Benchmark
+    public void errorCounter() {
+        Counter.builder("simplecrm.errors")
+                .tag("exception", "CustomerNotFoundException")
+                .tag("status", "404")
+                .register(registry)
+                .increment();
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.simplecrm.benchmark;
+
+import com.example.simplecrm.api.ApiResponse;
+import com.example.simplecrm.config.JacksonConfig;
+import com.example.simplecrm.dto.order.OrderResponseDTO;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.util.JsonRecyclerPools;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writing an order list envelope, as {@code GET /api/orders/{customerId}/orders} does, as plain JSON and
+ * gzipped the way the server compresses it. {@code bytes} is the response body produced per second;
+ * run with {@code -prof gc} (the {@code benchmark} profile does) for allocation per response.
+ * <p>
+ * {@code pool} is where Jackson's buffers come from: {@code thread-local} is the default on platform
+ * threads, {@code none} is what a fresh virtual thread per request gets from it, and {@code shared} is
+ * what {@link JacksonConfig} configures when virtual threads are on.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseWriteBenchmark {
+
+    @Param({"thread-local", "none", "shared"})
+    public String pool;
+
+    @Param({"1", "50", "500"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private ApiResponse<List<OrderResponseDTO>> response;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Output {
+        public long bytes;
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream(256 * 1024);
+
+        @Setup(Level.Invocation)
+        public void reset() {
+            buffer.reset();
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        switch (pool) {
+            case "none" -> builder.factory(JsonFactory.builder().recyclerPool(JsonRecyclerPools.nonRecyclingPool()).build());
+            case "shared" -> JacksonConfig.tune(builder, true);
+            default -> JacksonConfig.tune(builder, false);
+        }
+        objectMapper = builder.build();
+
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 1, 9, 30, 15, 123_456_000);
+        List<OrderResponseDTO> orders = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            OrderResponseDTO order = new OrderResponseDTO();
+            order.setId(5000L + i);
+            order.setDescription("Order " + i + " for office supplies");
+            order.setAmount(new BigDecimal("129.99").add(BigDecimal.valueOf(i)));
+            order.setStatus(i % 4 == 0 ? "COMPLETED" : "NEW");
+            order.setCreatedAt(createdAt.minusMinutes(i));
+            order.setCustomerId(42L);
+            orders.add(order);
+        }
+        response = ApiResponse.<List<OrderResponseDTO>>builder()
+                .status(200)
+                .message("Orders fetched successfully")
+                .data(orders)
+                .build();
+    }
+
+    @Benchmark
+    public void json(Output output) throws IOException {
+        objectMapper.writeValue(output.buffer, response);
+        output.bytes += output.buffer.size();
+    }
+
+    @Benchmark
+    public void gzip(Output output) throws IOException {
+        try (GZIPOutputStream gzip = new GZIPOutputStream(output.buffer, 8192)) {
+            objectMapper.writeValue(gzip, response);
+        }
+        output.bytes += output.buffer.size();
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.simplecrm.benchmark;
+
+import com.example.simplecrm.api.ApiResponse;
+import com.example.simplecrm.dto.CustomerResponseDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing a customer list envelope to JSON bytes, as {@code GET /api/customers} does for each page.
+ * The ObjectMapper is built the way Spring MVC builds its own.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    @Param({"1", "50", "500"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private ApiResponse<List<CustomerResponseDTO>> response;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        List<CustomerResponseDTO> customers = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            CustomerResponseDTO customer = new CustomerResponseDTO();
+            customer.setId(1000L + i);
+            customer.setName("Customer " + i);
+            customer.setEmail("customer" + i + "@mail.com");
+            customer.setPhone("+1 555-" + String.format("%04d", i));
+            customers.add(customer);
+        }
+        response = ApiResponse.<List<CustomerResponseDTO>>builder()
+                .status(200)
+                .message("Customer list")
+                .data(customers)
+                .nextCursor(String.valueOf(1000L + pageSize - 1))
+                .build();
+    }
+
+    @Benchmark
+    public byte[] customerPage() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.simplecrm.benchmark;
+
+import com.example.simplecrm.dto.CustomerRequestDTO;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bean Validation of the customer request body, which runs on every create and update. The invalid
+ * case includes building the violation and interpolating its message; {@code phoneOnly} isolates the
+ * {@code @Pattern} regex.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidationBenchmark {
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private CustomerRequestDTO valid;
+    private CustomerRequestDTO invalidPhone;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+
+        valid = new CustomerRequestDTO();
+        valid.setName("Bob Smith");
+        valid.setEmail("bob@mail.com");
+        valid.setPhone("+1 555-0100");
+
+        invalidPhone = new CustomerRequestDTO();
+        invalidPhone.setName("Bob Smith");
+        invalidPhone.setEmail("bob@mail.com");
+        invalidPhone.setPhone("call me maybe");
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CustomerRequestDTO>> validRequest() {
+        return validator.validate(valid);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CustomerRequestDTO>> invalidPhone() {
+        return validator.validate(invalidPhone);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CustomerRequestDTO>> phoneOnly() {
+        return validator.validateProperty(valid, "phone");
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.simplecrm.cache;
+
+import com.example.simplecrm.dto.CustomerResponseDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CustomerCacheTest {
+
+    private final CustomerCache cache = new CustomerCache(1000, Duration.ofMinutes(5));
+
+    @Test
+    void invalidate_ShouldNotLeaveAFillThatReadTheRowBeforeTheWrite() throws Exception {
+        AtomicLong database = new AtomicLong(1);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<CustomerResponseDTO> staleFill = executor.submit(() -> cache.get(1L, id -> {
+                CustomerResponseDTO read = customer(database.get());
+                loading.countDown();
+                await(release);
+                return read;
+            }));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+            database.set(2);
+            Future<?> invalidation = executor.submit(() -> cache.invalidate(1L));
+            Thread.sleep(50);
+            assertThat(invalidation).isNotDone();
+
+            release.countDown();
+            invalidation.get(5, TimeUnit.SECONDS);
+
+            assertThat(staleFill.get().getName()).isEqualTo("v1");
+            assertThat(cache.get(1L, id -> customer(database.get())).getName()).isEqualTo("v2");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void get_ShouldNeverServeAVersionOlderThanTheLastCompletedWrite() throws Exception {
+        AtomicLong database = new AtomicLong();
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService readers = Executors.newFixedThreadPool(4);
+        try {
+            for (int i = 0; i < 4; i++) {
+                readers.submit(() -> {
+                    while (running.get()) {
+                        cache.get(1L, id -> customer(database.get()));
+                    }
+                });
+            }
+
+            for (long version = 1; version <= 5_000; version++) {
+                database.set(version);
+                cache.invalidate(1L);
+                long seen = Long.parseLong(cache.get(1L, id -> customer(database.get())).getName().substring(1));
+                assertThat(seen).isGreaterThanOrEqualTo(version);
+            }
+        } finally {
+            running.set(false);
+            readers.shutdown();
+            assertThat(readers.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        }
+    }
+
+    @Test
+    void stats_ShouldCountHitsAndMisses() {
+        cache.get(1L, id -> customer(1));
+        cache.get(1L, id -> customer(1));
+        cache.get(2L, id -> customer(1));
+
+        assertThat(cache.stats().hitCount()).isEqualTo(1);
+        assertThat(cache.stats().missCount()).isEqualTo(2);
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    private static CustomerResponseDTO customer(long version) {
+        CustomerResponseDTO dto = new CustomerResponseDTO();
+        dto.setId(1L);
+        dto.setName("v" + version);
+        return dto;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.simplecrm.concurrency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissionControlFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void answers429WithRetryAfterOnceAClientHasUsedItsBurst() throws Exception {
+        AdmissionControlFilter filter = filter(settings(1, 2));
+
+        assertThat(send(filter, apiRequest("a")).getStatus()).isEqualTo(200);
+        assertThat(send(filter, apiRequest("a")).getStatus()).isEqualTo(200);
+        MockHttpServletResponse limited = send(filter, apiRequest("a"));
+
+        assertThat(limited.getStatus()).isEqualTo(429);
+        assertThat(limited.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(meterRegistry.counter("simplecrm.admission.shed", "route", "default", "reason", "rate_limit").count())
+                .isEqualTo(1);
+        // Other clients have buckets of their own
+        assertThat(send(filter, apiRequest("b")).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void appliesTheFirstMatchingRouteRule() throws Exception {
+        AdmissionControlProperties.Route bulk = new AdmissionControlProperties.Route();
+        bulk.setName("bulk");
+        bulk.setMethod("POST");
+        bulk.setPattern("/api/customers/bulk");
+        bulk.setRate(1);
+        bulk.setBurst(1);
+        AdmissionControlProperties properties = settings(100, 100);
+        properties.setRoutes(List.of(bulk));
+        AdmissionControlFilter filter = filter(properties);
+
+        MockHttpServletRequest importRequest = new MockHttpServletRequest("POST", "/api/customers/bulk");
+        assertThat(send(filter, importRequest).getStatus()).isEqualTo(200);
+        assertThat(send(filter, new MockHttpServletRequest("POST", "/api/customers/bulk")).getStatus()).isEqualTo(429);
+        assertThat(send(filter, apiRequest(null)).getStatus()).isEqualTo(200);
+        assertThat(meterRegistry.counter("simplecrm.admission.shed", "route", "bulk", "reason", "rate_limit").count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void answers503WhenTheConcurrencyLimitIsReached() throws Exception {
+        AdmissionControlProperties properties = settings(100, 100);
+        properties.getConcurrency().setInitialLimit(1);
+        properties.getConcurrency().setMinLimit(1);
+        AdmissionControlFilter filter = filter(properties);
+
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain blocking = (request, response) -> {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> {
+            try {
+                filter.doFilter(apiRequest("a"), new MockHttpServletResponse(), blocking);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        MockHttpServletResponse shed = send(filter, apiRequest("b"));
+
+        assertThat(shed.getStatus()).isEqualTo(503);
+        assertThat(shed.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(meterRegistry.counter("simplecrm.admission.shed", "route", "default", "reason", "concurrency").count())
+                .isEqualTo(1);
+
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+        assertThat(send(filter, apiRequest("b")).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void asyncRequestsHoldTheirSlotUntilCompleteWithoutALatencySample() throws Exception {
+        AdmissionControlProperties properties = settings(100, 100);
+        properties.getConcurrency().setInitialLimit(1);
+        properties.getConcurrency().setMinLimit(1);
+        AdmissionControlFilter filter = filter(properties);
+
+        MockHttpServletRequest export = new MockHttpServletRequest("GET", "/api/export/customers");
+        export.setAsyncSupported(true);
+        filter.doFilter(export, new MockHttpServletResponse(), (request, response) -> request.startAsync());
+
+        assertThat(send(filter, apiRequest("b")).getStatus()).isEqualTo(503);
+        MockHttpServletResponse poll = send(filter, new MockHttpServletRequest("GET", "/api/orders/changes"));
+        assertThat(poll.getStatus()).isEqualTo(200);
+
+        export.getAsyncContext().complete();
+        assertThat(meterRegistry.get("simplecrm.admission.in_flight").gauge().value()).isZero();
+        assertThat(meterRegistry.get("simplecrm.admission.concurrency_limit").gauge().value()).isEqualTo(1);
+        assertThat(send(filter, apiRequest("b")).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void concurrencyLimitShrinksOnSlowResponsesAndGrowsBackOnFastOnes() {
+        AdmissionControlProperties.Concurrency settings = new AdmissionControlProperties.Concurrency();
+        settings.setInitialLimit(10);
+        settings.setMinLimit(2);
+        settings.setLatencyTarget(Duration.ofMillis(100));
+        settings.setBackoff(0.5);
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(settings);
+        long now = System.nanoTime() + Duration.ofSeconds(1).toNanos();
+
+        assertThat(limit.tryAcquire()).isTrue();
+        limit.release(Duration.ofSeconds(1).toNanos(), now);
+        assertThat(limit.limit()).isEqualTo(5);
+
+        for (int i = 0; i < 50; i++) {
+            for (int j = 0; j < 5; j++) {
+                limit.tryAcquire();
+            }
+            for (int j = 0; j < 5; j++) {
+                limit.release(Duration.ofMillis(10).toNanos(), now);
+            }
+        }
+        assertThat(limit.limit()).isGreaterThan(5);
+        assertThat(limit.inFlight()).isZero();
+    }
+
+    @Test
+    void newClientsShareTheOverflowBucketOnceMaxClientsAreTracked() {
+        RateLimiter limiter = new RateLimiter(1, 1, 1);
+        long now = System.nanoTime();
+
+        assertThat(limiter.tryAcquire("a", now)).isZero();
+        assertThat(limiter.tryAcquire("b", now)).isZero();
+        assertThat(limiter.tryAcquire("c", now)).isPositive();
+        assertThat(limiter.clients()).isEqualTo(2);
+    }
+
+    @Test
+    void doesNotLimitNonApiPaths() throws Exception {
+        AdmissionControlFilter filter = filter(settings(1, 1));
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(send(filter, new MockHttpServletRequest("GET", "/actuator/health")).getStatus()).isEqualTo(200);
+        }
+    }
+
+    private AdmissionControlFilter filter(AdmissionControlProperties properties) {
+        return new AdmissionControlFilter(properties, meterRegistry);
+    }
+
+    private static AdmissionControlProperties settings(double rate, int burst) {
+        AdmissionControlProperties properties = new AdmissionControlProperties();
+        properties.setRate(rate);
+        properties.setBurst(burst);
+        return properties;
+    }
+
+    private static MockHttpServletResponse send(AdmissionControlFilter filter, MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest apiRequest(String apiKey) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/customers/1");
+        if (apiKey != null) {
+            request.addHeader("X-API-Key", apiKey);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.simplecrm.concurrency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConnectionPoolLimiterFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ConnectionPoolLimiterFilter filter =
+            new ConnectionPoolLimiterFilter(1, Duration.ofMillis(50), meterRegistry);
+
+    @Test
+    void rejectsWith503WhenAllPermitsAreHeld() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain blocking = (request, response) -> {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> {
+            try {
+                filter.doFilter(apiRequest(), new MockHttpServletResponse(), blocking);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(apiRequest(), rejected, new MockFilterChain());
+
+        assertThat(rejected.getStatus()).isEqualTo(503);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(meterRegistry.counter("simplecrm.db_limiter.rejected").count()).isEqualTo(1);
+
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+
+        MockHttpServletResponse admitted = new MockHttpServletResponse();
+        filter.doFilter(apiRequest(), admitted, new MockFilterChain());
+        assertThat(admitted.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void asyncRequestsKeepTheirPermitUntilTheResponseIsComplete() throws Exception {
+        MockHttpServletRequest export = new MockHttpServletRequest("GET", "/api/export/customers");
+        export.setAsyncSupported(true);
+        filter.doFilter(export, new MockHttpServletResponse(), (request, response) -> request.startAsync());
+
+        MockHttpServletResponse whileStreaming = new MockHttpServletResponse();
+        filter.doFilter(apiRequest(), whileStreaming, new MockFilterChain());
+        assertThat(whileStreaming.getStatus()).isEqualTo(503);
+
+        export.getAsyncContext().complete();
+
+        MockHttpServletResponse afterwards = new MockHttpServletResponse();
+        filter.doFilter(apiRequest(), afterwards, new MockFilterChain());
+        assertThat(afterwards.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void doesNotLimitTheOrderChangeFeed() throws Exception {
+        MockHttpServletRequest export = new MockHttpServletRequest("GET", "/api/export/customers");
+        export.setAsyncSupported(true);
+        filter.doFilter(export, new MockHttpServletResponse(), (request, response) -> request.startAsync());
+
+        MockHttpServletResponse poll = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/orders/changes"), poll, new MockFilterChain());
+
+        assertThat(poll.getStatus()).isEqualTo(200);
+        export.getAsyncContext().complete();
+    }
+
+    @Test
+    void doesNotLimitNonApiPaths() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/actuator/health");
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isSameAs(request);
+    }
+
+    private static MockHttpServletRequest apiRequest() {
+        return new MockHttpServletRequest("GET", "/api/customers/1");
+    }
+}
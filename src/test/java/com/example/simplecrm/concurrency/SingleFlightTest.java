@@ -0,0 +1,111 @@
+package com.example.simplecrm.concurrency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SingleFlight<Long, String> flight = new SingleFlight<>("test", meterRegistry);
+    private final ExecutorService callers = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void shutDown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void load_ShouldShareOneLoadAmongConcurrentCallers() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+
+        Future<String> leader = callers.submit(() -> flight.load(1L, id -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(release);
+            return "v1";
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        List<Future<String>> followers = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            followers.add(callers.submit(() -> flight.load(1L, id -> "v" + loads.incrementAndGet())));
+        }
+        while (meterRegistry.counter("simplecrm.single_flight.loads", "name", "test", "outcome", "coalesced").count() < 7) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("v1");
+        for (Future<String> follower : followers) {
+            assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("v1");
+        }
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(meterRegistry.counter("simplecrm.single_flight.loads", "name", "test", "outcome", "leader").count()).isEqualTo(1);
+        assertThat(flight.inFlight()).isZero();
+    }
+
+    @Test
+    void load_ShouldHandTheLoaderExceptionToEveryWaitingCaller() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> leader = callers.submit(() -> flight.load(1L, id -> {
+            loading.countDown();
+            await(release);
+            throw new IllegalStateException("boom");
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<String> follower = callers.submit(() -> flight.load(1L, id -> "unused"));
+        while (meterRegistry.counter("simplecrm.single_flight.loads", "name", "test", "outcome", "coalesced").count() < 1) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(flight.load(1L, id -> "v2")).isEqualTo("v2");
+    }
+
+    @Test
+    void forget_ShouldMakeLaterCallersStartANewLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> before = callers.submit(() -> flight.load(1L, id -> {
+            loading.countDown();
+            await(release);
+            return "old";
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        flight.forget(1L);
+        assertThat(flight.load(1L, id -> "new")).isEqualTo("new");
+
+        release.countDown();
+        assertThat(before.get(5, TimeUnit.SECONDS)).isEqualTo("old");
+        assertThat(flight.inFlight()).isZero();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.simplecrm.controller;
+
+import com.example.simplecrm.cache.CustomerCache;
+import com.example.simplecrm.model.Customer;
+import com.example.simplecrm.model.Order;
+import com.example.simplecrm.repository.CustomerRepository;
+import com.example.simplecrm.repository.OrderRepository;
+import com.example.simplecrm.sql.QueryBudget;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * ETag round trips for customer and order reads: a matching If-None-Match is answered 304 with an empty
+ * body from a version-only lookup, and any write makes the old ETag miss.
+ */
+@SpringBootTest(properties =
+        "spring.datasource.url=jdbc:h2:mem:conditional-get;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@ActiveProfiles({"test", "debug"})
+class ConditionalGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CustomerCache customerCache;
+
+    private Customer customer;
+    private List<Order> orders;
+
+    @BeforeEach
+    void seed() {
+        customer = new Customer();
+        customer.setName("Bob");
+        customer.setEmail("bob@mail.com");
+        customer.setPhone("+1234567");
+        customer = customerRepository.save(customer);
+
+        orders = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            orders.add(Order.builder().description("Order " + i).amount(BigDecimal.TEN).customer(customer).build());
+        }
+        orders = orderRepository.saveAll(orders);
+    }
+
+    @AfterEach
+    void tearDown() {
+        customerCache.invalidate(customer.getId());
+        orderRepository.deleteAllInBatch();
+        customerRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void customer_ShouldAnswerNotModifiedFromVersionOnly() throws Exception {
+        MockHttpServletResponse full = mockMvc.perform(get("/api/customers/{id}", customer.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        String etag = full.getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isEqualTo("W/\"0\"");
+        assertThat(full.getContentAsByteArray()).isNotEmpty();
+
+        // Cached: no statement at all
+        MockHttpServletResponse cached = mockMvc.perform(get("/api/customers/{id}", customer.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(QueryBudget.exactly(0))
+                .andReturn().getResponse();
+        assertThat(cached.getContentAsByteArray()).isEmpty();
+
+        // Not cached: one single-column lookup instead of loading, mapping and serializing the customer
+        customerCache.invalidate(customer.getId());
+        mockMvc.perform(get("/api/customers/{id}", customer.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(QueryBudget.exactly(1))
+                .andExpect(QueryBudget.rowsAtMost(1));
+    }
+
+    @Test
+    void customer_ShouldSendNewBodyAfterUpdate() throws Exception {
+        String etag = mockMvc.perform(get("/api/customers/{id}", customer.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(put("/api/customers/{id}", customer.getId()).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Robert\", \"email\": \"bob@mail.com\", \"phone\": \"+1234567\"}"))
+                .andExpect(status().isOk());
+
+        MockHttpServletResponse response = mockMvc.perform(get("/api/customers/{id}", customer.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+        assertThat(response.getContentAsString()).contains("Robert");
+    }
+
+    @Test
+    void orders_ShouldAnswerNotModifiedFromListVersion() throws Exception {
+        MockHttpServletResponse full = mockMvc.perform(get("/api/orders/{customerId}/orders", customer.getId()))
+                .andExpect(status().isOk())
+                .andExpect(QueryBudget.exactly(1))
+                .andReturn().getResponse();
+        String etag = full.getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotNull();
+        assertThat(full.getContentAsByteArray()).hasSizeGreaterThan(orders.size() * 50);
+
+        MockHttpServletResponse notModified = mockMvc.perform(get("/api/orders/{customerId}/orders", customer.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(QueryBudget.exactly(1))
+                .andExpect(QueryBudget.rowsAtMost(1))
+                .andReturn().getResponse();
+        assertThat(notModified.getContentAsByteArray()).isEmpty();
+
+        // Pages share the list version
+        mockMvc.perform(get("/api/orders/{customerId}/orders", customer.getId()).param("limit", "5")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void orders_ShouldSendNewBodyAfterStatusChangeOrNewOrder() throws Exception {
+        String etag = mockMvc.perform(get("/api/orders/{customerId}/orders", customer.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(put("/api/orders/customer/{customerId}/status", customer.getId())
+                        .param("orderId", orders.get(0).getId().toString())
+                        .param("orderStatus", "PROCESSING"))
+                .andExpect(status().isOk());
+        String afterUpdate = mockMvc.perform(get("/api/orders/{customerId}/orders", customer.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(post("/api/orders").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"description\": \"New\", \"amount\": 5, \"customerId\": " + customer.getId() + "}"))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/api/orders/{customerId}/orders", customer.getId()).param("limit", "5")
+                        .header(HttpHeaders.IF_NONE_MATCH, afterUpdate))
+                .andExpect(status().isOk());
+    }
+}
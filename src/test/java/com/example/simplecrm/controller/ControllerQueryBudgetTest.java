@@ -0,0 +1,217 @@
+package com.example.simplecrm.controller;
+
+import com.example.simplecrm.model.Customer;
+import com.example.simplecrm.model.Order;
+import com.example.simplecrm.model.OrderStatus;
+import com.example.simplecrm.repository.CustomerRepository;
+import com.example.simplecrm.repository.OrderRepository;
+import com.example.simplecrm.sql.QueryBudget;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statement budget for every CustomerController/OrderController endpoint. Lists are seeded with
+ * several rows per customer so a per-row lazy load shows up as a budget overrun.
+ */
+@SpringBootTest(properties =
+        "spring.datasource.url=jdbc:h2:mem:query-budget;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@ActiveProfiles({"test", "debug"})
+class ControllerQueryBudgetTest {
+
+    private static final String CUSTOMER_JSON = """
+            {"name": "Bob", "email": "bob@mail.com", "phone": "+1234567"}""";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private Customer customer;
+    private List<Order> orders;
+
+    @BeforeEach
+    void seed() {
+        List<Customer> customers = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Customer c = new Customer();
+            c.setName("Customer " + i);
+            c.setEmail("customer" + i + "@mail.com");
+            c.setPhone("+15550000");
+            customers.add(c);
+        }
+        customers = customerRepository.saveAll(customers);
+        customer = customers.get(0);
+
+        orders = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            orders.add(Order.builder().description("Order " + i).amount(BigDecimal.TEN).customer(customer).build());
+        }
+        orders = orderRepository.saveAll(orders);
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAllInBatch();
+        customerRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void createCustomer() throws Exception {
+        mockMvc.perform(post("/api/customers").contentType(MediaType.APPLICATION_JSON).content(CUSTOMER_JSON))
+                .andExpect(status().isOk())
+                .andExpect(QueryBudget.atMost(2));
+    }
+
+    @Test
+    void getCustomerById() throws Exception {
+        mockMvc.perform(get("/api/customers/{id}", customer.getId()))
+                .andExpect(status().isOk())
+                .andExpect(QueryBudget.exactly(1));
+        mockMvc.perform(get("/api/customers/{id}", customer.getId()))
+                .andExpect(status().isOk())
+                .andExpect(QueryBudget.exactly(0));
+    }
+
+    @Test
+    void updateCustomer() throws Exception {
+        mockMvc.perform(put("/api/customers/{id}", customer.getId()).contentType(MediaType.APPLICATION_JSON).content(CUSTOMER_JSON))
+                .andExpect(status().isOk())
+                .andExpect(QueryBudget.atMost(2));
+    }
+
+    @Test
+    void deleteCustomer() throws Exception {
+        Customer withoutOrders = customerRepository.findAll().get(1);
+        mockMvc.perform(delete("/api/customers/{id}", withoutOrders.getId()))
+                .andExpect(status().isOk())
+                .andExpect(QueryBudget.atMost(2));
+    }
+
+    @Test
+    void searchCustomers() throws Exception {
+        mockMvc.perform(get("/api/customers/search").param("q", "customer").param("limit", "3"))
+                .andExpect(status().isOk())
+                .andExpect(QueryBudget.atMost(2))
+                .andExpect(QueryBudget.rowsAtMost(6));
+    }
+
+    @Test
+    void getAllCustomers() throws Exception {
+        mockMvc.perform(get("/api/customers").param("limit", "3"))
+                .andExpect(status().isOk())
+                .andExpect(QueryBudget.exactly(1))
+                .andExpect(QueryBudget.rowsAtMost(4));
+    }
+
+    @Test
+    void getCustomersByIds() throws Exception {
+        String ids = customerRepository.findAll().stream().map(c -> c.getId().toString()).collect(Collectors.joining(","));
+        mockMvc.perform(get("/api/customers").param("ids", ids + ",-1"))
+                .andExpect(status().isOk())
+                .andExpect(QueryBudget.exactly(1))
+                .andExpect(QueryBudget.rowsAtMost(5));
+        mockMvc.perform(post("/api/customers/lookup").contentType(MediaType.APPLICATION_JSON).content("[" + ids + "]"))
+                .andExpect(status().isOk())
+                .andExpect(QueryBudget.exactly(1));
+    }
+
+    @Test
+    void importCustomers() throws Exception {
+        mockMvc.perform(post("/api/customers/bulk").contentType(MediaType.APPLICATION_NDJSON)
+                        .content(CUSTOMER_JSON + "\n" + CUSTOMER_JSON.replace("bob@", "bob2@")))
+                .andExpect(status().isOk())
+                .andExpect(QueryBudget.atMost(2));
+    }
+
+    @Test
+    void createOrder() throws Exception {
+        mockMvc.perform(post("/api/orders").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"description\": \"New\", \"amount\": 5, \"customerId\": " + customer.getId() + "}"))
+                .andExpect(status().isCreated())
+                .andExpect(QueryBudget.atMost(4)); // customer, sequence, insert, outbox event
+    }
+
+    @Test
+    void createOrders() throws Exception {
+        String order = "{\"description\": \"New\", \"amount\": 5, \"customerId\": " + customer.getId() + "}";
+        mockMvc.perform(post("/api/orders/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + order + "," + order + "," + order + "]"))
+                .andExpect(status().isCreated())
+                .andExpect(QueryBudget.atMost(4)); // customer ids, sequence, insert batch, outbox events
+    }
+
+    @Test
+    void getOrdersByCustomer() throws Exception {
+        mockMvc.perform(get("/api/orders/{customerId}/orders", customer.getId()))
+                .andExpect(status().isOk())
+                .andExpect(QueryBudget.exactly(1))
+                .andExpect(QueryBudget.rowsAtMost(orders.size()));
+    }
+
+    @Test
+    void getOrdersPageByCustomer() throws Exception {
+        mockMvc.perform(get("/api/orders/{customerId}/orders", customer.getId())
+                        .param("status", "NEW").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(QueryBudget.exactly(2))
+                .andExpect(QueryBudget.rowsAtMost(4));
+    }
+
+    @Test
+    void getOrderSummary() throws Exception {
+        mockMvc.perform(get("/api/orders/{customerId}/summary", customer.getId()))
+                .andExpect(status().isOk())
+                .andExpect(QueryBudget.exactly(1))
+                .andExpect(QueryBudget.rowsAtMost(OrderStatus.values().length));
+    }
+
+    @Test
+    void updateOrderStatus() throws Exception {
+        mockMvc.perform(put("/api/orders/customer/{customerId}/status", customer.getId())
+                        .param("orderId", orders.get(0).getId().toString())
+                        .param("orderStatus", "PROCESSING"))
+                .andExpect(status().isOk())
+                .andExpect(QueryBudget.atMost(3)); // conditional update, reload, outbox event
+    }
+
+    @Test
+    void getOrderChanges() throws Exception {
+        MvcResult fromOldest = mockMvc.perform(get("/api/orders/changes"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(fromOldest))
+                .andExpect(status().isOk())
+                .andExpect(QueryBudget.exactly(2)); // retention mark, page
+
+        String cursor = JsonPath.read(fromOldest.getResponse().getContentAsString(), "$.nextCursor");
+        MvcResult fromCursor = mockMvc.perform(get("/api/orders/changes").param("after", cursor))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(fromCursor))
+                .andExpect(status().isOk())
+                .andExpect(QueryBudget.atMost(2)); // page, retention mark when the page does not continue the cursor
+    }
+}
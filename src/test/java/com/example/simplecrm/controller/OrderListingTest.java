@@ -0,0 +1,166 @@
+package com.example.simplecrm.controller;
+
+import com.example.simplecrm.model.Customer;
+import com.example.simplecrm.model.Order;
+import com.example.simplecrm.model.OrderStatus;
+import com.example.simplecrm.repository.CustomerRepository;
+import com.example.simplecrm.repository.OrderRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties =
+        "spring.datasource.url=jdbc:h2:mem:order-listing;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OrderListingTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Customer customer;
+    private List<Order> orders;
+
+    @BeforeEach
+    void seed() {
+        customer = customer("bob@mail.com");
+        Customer other = customer("alice@mail.com");
+
+        orders = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            orders.add(Order.builder().description("Order " + i).amount(BigDecimal.TEN).customer(customer).build());
+        }
+        orders.add(Order.builder().description("Other").amount(BigDecimal.ONE).customer(other).build());
+        orders = orderRepository.saveAll(orders);
+
+        // Pairs of orders share a timestamp, so pages must break ties on id
+        for (int i = 0; i < orders.size(); i++) {
+            Order order = orders.get(i);
+            order.setCreatedAt(BASE.plusMinutes(i / 2));
+            order.setStatus(i % 3 == 0 ? OrderStatus.COMPLETED : OrderStatus.NEW);
+            jdbcTemplate.update("update orders set created_at = ?, status = ? where id = ?",
+                    order.getCreatedAt(), order.getStatus().name(), order.getId());
+        }
+        orders = orders.stream().filter(order -> order.getCustomer().getId().equals(customer.getId())).toList();
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAllInBatch();
+        customerRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void pagesShouldWalkAllOrdersNewestFirstWithoutGapsOrDuplicates() throws Exception {
+        assertThat(walk(4, null, null, null)).containsExactlyElementsOf(expected(order -> true));
+    }
+
+    @Test
+    void pagesShouldApplyStatusAndCreatedAtRange() throws Exception {
+        LocalDateTime from = BASE.plusMinutes(2);
+        LocalDateTime to = BASE.plusMinutes(10);
+
+        assertThat(walk(2, OrderStatus.COMPLETED, from, to)).containsExactlyElementsOf(expected(order ->
+                order.getStatus() == OrderStatus.COMPLETED
+                        && !order.getCreatedAt().isBefore(from) && order.getCreatedAt().isBefore(to)));
+    }
+
+    @Test
+    void requestWithoutParametersShouldStillReturnEveryOrder() throws Exception {
+        JsonNode body = fetch(get("/api/orders/{customerId}/orders", customer.getId()));
+
+        assertThat(body.get("data")).hasSize(orders.size());
+        assertThat(body.has("nextCursor")).isFalse();
+    }
+
+    @Test
+    void malformedCursorShouldBeRejected() throws Exception {
+        mockMvc.perform(get("/api/orders/{customerId}/orders", customer.getId()).param("after", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/orders/{customerId}/orders", customer.getId()).param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private List<Long> walk(int limit, OrderStatus status, LocalDateTime from, LocalDateTime to) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        String after = null;
+        do {
+            MockHttpServletRequestBuilder request = get("/api/orders/{customerId}/orders", customer.getId())
+                    .param("limit", String.valueOf(limit));
+            if (status != null) {
+                request.param("status", status.name());
+            }
+            if (from != null) {
+                request.param("from", from.toString());
+            }
+            if (to != null) {
+                request.param("to", to.toString());
+            }
+            if (after != null) {
+                request.param("after", after);
+            }
+            JsonNode body = fetch(request);
+            assertThat(body.get("data").size()).isLessThanOrEqualTo(limit);
+            body.get("data").forEach(order -> ids.add(order.get("id").asLong()));
+            after = body.has("nextCursor") ? body.get("nextCursor").asText() : null;
+        } while (after != null);
+        return ids;
+    }
+
+    private List<Long> expected(Predicate<Order> filter) {
+        return orders.stream()
+                .filter(filter)
+                .sorted(Comparator.comparing(Order::getCreatedAt).thenComparing(Order::getId).reversed())
+                .map(Order::getId)
+                .toList();
+    }
+
+    private JsonNode fetch(MockHttpServletRequestBuilder request) throws Exception {
+        String json = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(json);
+    }
+
+    private Customer customer(String email) {
+        Customer customer = new Customer();
+        customer.setName("Customer");
+        customer.setEmail(email);
+        customer.setPhone("+1234567");
+        return customerRepository.save(customer);
+    }
+}
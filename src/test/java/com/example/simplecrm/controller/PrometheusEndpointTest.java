@@ -0,0 +1,41 @@
+package com.example.simplecrm.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties =
+        "spring.datasource.url=jdbc:h2:mem:prometheus;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+class PrometheusEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void scrapeContainsRequestServiceErrorAndPoolMetrics() throws Exception {
+        mockMvc.perform(get("/api/customers/" + Long.MAX_VALUE)).andExpect(status().isNotFound());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(scrape)
+                .contains("http_server_requests_seconds_bucket{")
+                .containsPattern("simplecrm_service_seconds_bucket\\{.*method=\"getCustomerById\"")
+                .containsPattern("simplecrm_errors_total\\{exception=\"CustomerNotFoundException\",status=\"404\"} 1.0")
+                .contains("hikaricp_connections_pending{")
+                .contains("hikaricp_connections_acquire_seconds_count{")
+                .contains("hikaricp_connections_usage_seconds_count{");
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.simplecrm.controller;
+
+import com.example.simplecrm.model.Customer;
+import com.example.simplecrm.model.Order;
+import com.example.simplecrm.repository.CustomerRepository;
+import com.example.simplecrm.repository.OrderRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * The reactive endpoints read through R2DBC from the same embedded database the JPA repositories write to.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reactive;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactive?options=MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReactiveReadControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private List<Customer> customers;
+
+    @BeforeEach
+    void seed() {
+        customers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Customer c = new Customer();
+            c.setName("Customer " + i);
+            c.setEmail("customer" + i + "@mail.com");
+            c.setPhone("+15550000");
+            customers.add(c);
+        }
+        customers = customerRepository.saveAll(customers);
+
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            orders.add(Order.builder().description("Order " + i).amount(BigDecimal.TEN).customer(customers.get(0)).build());
+        }
+        orderRepository.saveAll(orders);
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAllInBatch();
+        customerRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void getCustomerById() throws Exception {
+        Customer customer = customers.get(1);
+
+        perform(get("/api/reactive/customers/" + customer.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.id").value(customer.getId()))
+                .andExpect(jsonPath("$.data.email").value("customer1@mail.com"));
+    }
+
+    @Test
+    void unknownCustomerIsNotFound() throws Exception {
+        perform(get("/api/reactive/customers/" + Long.MAX_VALUE))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void customerPagesFollowTheCursor() throws Exception {
+        perform(get("/api/reactive/customers").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(2)))
+                .andExpect(jsonPath("$.nextCursor").value(String.valueOf(customers.get(1).getId())));
+
+        perform(get("/api/reactive/customers").param("limit", "2").param("after", String.valueOf(customers.get(1).getId())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(1)))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void getOrdersByCustomer() throws Exception {
+        perform(get("/api/reactive/orders/" + customers.get(0).getId() + "/orders"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(4)))
+                .andExpect(jsonPath("$.data[0].customerId").value(customers.get(0).getId()))
+                .andExpect(jsonPath("$.data[0].status").value("NEW"));
+    }
+
+    @Test
+    void streamsCustomersAsNdjson() throws Exception {
+        String body = perform(get("/api/reactive/customers/stream").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(body.lines()).hasSize(3).allSatisfy(line -> assertThat(line).startsWith("{\"id\":"));
+    }
+
+    private ResultActions perform(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult started = mockMvc.perform(request)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started));
+    }
+}
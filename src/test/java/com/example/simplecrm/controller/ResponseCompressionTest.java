@@ -0,0 +1,102 @@
+package com.example.simplecrm.controller;
+
+import com.example.simplecrm.model.Customer;
+import com.example.simplecrm.model.Order;
+import com.example.simplecrm.repository.CustomerRepository;
+import com.example.simplecrm.repository.OrderRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Runs against the embedded Tomcat, which does the compressing; MockMvc would bypass it.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties =
+        "spring.datasource.url=jdbc:h2:mem:compression;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("test")
+class ResponseCompressionTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    private Customer customer;
+
+    @BeforeEach
+    void seed() {
+        customer = new Customer();
+        customer.setName("Bob");
+        customer.setEmail("bob@mail.com");
+        customer.setPhone("+1234567");
+        customer = customerRepository.save(customer);
+
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            orders.add(Order.builder().description("Order " + i).amount(BigDecimal.TEN).customer(customer).build());
+        }
+        orderRepository.saveAll(orders);
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAllInBatch();
+        customerRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void largeResponseShouldBeGzippedWhenAccepted() throws Exception {
+        String path = "/api/orders/" + customer.getId() + "/orders";
+        HttpResponse<byte[]> plain = get(path, false);
+        HttpResponse<byte[]> gzipped = get(path, true);
+
+        assertThat(plain.headers().firstValue("Content-Encoding")).isEmpty();
+        assertThat(gzipped.headers().firstValue("Content-Encoding")).hasValue("gzip");
+        assertThat(gzipped.headers().firstValue("ETag")).isEqualTo(plain.headers().firstValue("ETag")).isPresent();
+        assertThat(gzipped.body().length).isLessThan(plain.body().length / 4);
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.body()))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8))
+                    .isEqualTo(new String(plain.body(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void smallResponseShouldNotBeCompressed() throws Exception {
+        HttpResponse<byte[]> response = get("/api/customers/" + customer.getId(), true);
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Encoding")).isEmpty();
+    }
+
+    private HttpResponse<byte[]> get(String path, boolean acceptGzip) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+        if (acceptGzip) {
+            request.header("Accept-Encoding", "gzip");
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.simplecrm.datasource;
+
+import com.example.simplecrm.config.DataSourceConfig;
+import com.example.simplecrm.dto.CustomerRequestDTO;
+import com.example.simplecrm.dto.CustomerResponseDTO;
+import com.example.simplecrm.exception.CustomerNotFoundException;
+import com.example.simplecrm.service.CustomerService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Read-only transactions against two in-memory databases standing in for a primary and its replica.
+ * The replica is migrated by hand and holds a customer the primary does not, so every read shows
+ * which database answered it.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "simplecrm.datasource.replica.url=" + ReadReplicaRoutingTest.REPLICA_URL,
+        "simplecrm.cache.customers.maximum-size=0"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReadReplicaRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    private static final long REPLICA_ONLY_ID = 900_000L;
+
+    private static JdbcTemplate replica;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private JdbcTemplate primary;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeAll
+    static void createReplica() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(REPLICA_URL, "sa", "");
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration", "classpath:db/vendor/h2")
+                .load()
+                .migrate();
+        replica = new JdbcTemplate(dataSource);
+        replica.update("""
+                insert into customer (id, name, email, phone, version, search_name, search_email, search_phone)
+                values (?, 'Replica', 'replica@mail.com', '+1 555-0000', 0, 'replica', 'replica@mail.com', '15550000')""",
+                REPLICA_ONLY_ID);
+    }
+
+    @Test
+    void readOnlyTransactionsReadFromTheReplica() {
+        assertThat(customerService.getCustomersByIds(List.of(REPLICA_ONLY_ID)).getCustomers())
+                .extracting(CustomerResponseDTO::getName)
+                .containsExactly("Replica");
+    }
+
+    @Test
+    void readsOnThePrimaryScopeSeeOnlyThePrimary() {
+        assertThat(ReadRouting.onPrimary(() -> customerService.getCustomersByIds(List.of(REPLICA_ONLY_ID))).getMissingIds())
+                .containsExactly(REPLICA_ONLY_ID);
+    }
+
+    @Test
+    void customerCacheIsFilledFromThePrimary() {
+        assertThatThrownBy(() -> customerService.getCustomerById(REPLICA_ONLY_ID))
+                .isInstanceOf(CustomerNotFoundException.class);
+    }
+
+    @Test
+    void customerVersionForConditionalGetsIsReadFromThePrimary() {
+        assertThatThrownBy(() -> customerService.getCustomerVersion(REPLICA_ONLY_ID))
+                .isInstanceOf(CustomerNotFoundException.class);
+    }
+
+    @Test
+    void writesGoToThePrimary() {
+        CustomerRequestDTO request = new CustomerRequestDTO();
+        request.setName("Written");
+        request.setEmail("written@mail.com");
+        request.setPhone("+1 555-1111");
+
+        CustomerResponseDTO created = customerService.createCustomer(request);
+
+        assertThat(primary.queryForObject("select count(*) from customer where id = ?", Integer.class, created.getId()))
+                .isEqualTo(1);
+        assertThat(replica.queryForObject("select count(*) from customer where id = ?", Integer.class, created.getId()))
+                .isZero();
+        assertThat(ReadRouting.onPrimary(() -> customerService.getCustomerById(created.getId())).getName())
+                .isEqualTo("Written");
+    }
+
+    @Test
+    void readConsistencyHeaderRoutesTheRequestToThePrimary() throws Exception {
+        mockMvc.perform(get("/api/customers").param("ids", String.valueOf(REPLICA_ONLY_ID)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.customers[0].name").value("Replica"));
+        mockMvc.perform(get("/api/customers").param("ids", String.valueOf(REPLICA_ONLY_ID))
+                        .header(PrimaryReadFilter.HEADER, "primary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.missingIds[0]").value(REPLICA_ONLY_ID));
+    }
+
+    @Test
+    void poolsAreClosedWithTheContext() {
+        AtomicReference<HikariDataSource> pool = new AtomicReference<>();
+        new ApplicationContextRunner()
+                .withUserConfiguration(DataSourceConfig.class)
+                .withPropertyValues(
+                        "spring.datasource.url=jdbc:h2:mem:routing-close;DB_CLOSE_DELAY=-1",
+                        "simplecrm.datasource.replica.url=" + REPLICA_URL)
+                .run(context -> pool.set(context.getBean(DataSource.class).unwrap(HikariDataSource.class)));
+
+        assertThat(pool.get().isClosed()).isTrue();
+    }
+}
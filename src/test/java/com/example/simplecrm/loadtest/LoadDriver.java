@@ -0,0 +1,100 @@
+package com.example.simplecrm.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop load: {@code concurrency} client threads each send one request, wait for the response
+ * and immediately send the next, picking the operation by weight. Latencies of 2xx responses go into
+ * one HdrHistogram per operation (in microseconds); everything else counts as an error.
+ */
+final class LoadDriver {
+
+    private final HttpClient client;
+    private final Workload workload;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final int concurrency;
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+
+    LoadDriver(HttpClient client, Workload workload, Map<Operation, Integer> mix, int concurrency) {
+        this.client = client;
+        this.workload = workload;
+        this.concurrency = concurrency;
+        this.operations = mix.keySet().toArray(Operation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += mix.get(operations[i]);
+            cumulativeWeights[i] = total;
+            recorders.put(operations[i], new Recorder(3));
+            errors.put(operations[i], new LongAdder());
+        }
+    }
+
+    /** Drives load for {@code duration} and reports only what happened during that window. */
+    LoadReport run(Duration duration) throws InterruptedException {
+        recorders.values().forEach(Recorder::reset);
+        errors.values().forEach(LongAdder::reset);
+
+        long deadline = System.nanoTime() + duration.toNanos();
+        Thread[] threads = new Thread[concurrency];
+        for (int i = 0; i < concurrency; i++) {
+            threads[i] = new Thread(() -> loop(deadline), "loadtest-" + i);
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+        Map<Operation, Long> errorCounts = new EnumMap<>(Operation.class);
+        for (Operation operation : operations) {
+            histograms.put(operation, recorders.get(operation).getIntervalHistogram());
+            errorCounts.put(operation, errors.get(operation).sum());
+        }
+        return new LoadReport(duration, histograms, errorCounts);
+    }
+
+    private void loop(long deadline) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+            Operation operation = pick(random);
+            long start = System.nanoTime();
+            try {
+                int status = client.send(workload.request(operation, random), HttpResponse.BodyHandlers.discarding())
+                        .statusCode();
+                if (status >= 200 && status < 300) {
+                    recorders.get(operation).recordValue((System.nanoTime() - start) / 1000);
+                } else {
+                    errors.get(operation).increment();
+                }
+            } catch (IOException e) {
+                errors.get(operation).increment();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private Operation pick(ThreadLocalRandom random) {
+        int r = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (r < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        throw new IllegalStateException();
+    }
+}
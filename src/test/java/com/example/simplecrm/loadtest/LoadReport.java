@@ -0,0 +1,48 @@
+package com.example.simplecrm.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Per-operation throughput, latency percentiles (milliseconds) and error count of one measured run.
+ */
+record LoadReport(Duration duration, Map<Operation, Histogram> histograms, Map<Operation, Long> errors) {
+
+    private static final String HEADER = "%-16s %9s %9s %9s %9s %9s %9s %8s%n";
+    private static final String ROW = "%-16s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %8d%n";
+
+    void print(String title, PrintStream out) {
+        out.printf("%n%s (%ds)%n", title, duration.toSeconds());
+        out.printf(HEADER, "operation", "requests", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "errors");
+        Histogram total = null;
+        long totalErrors = 0;
+        for (Map.Entry<Operation, Histogram> entry : histograms.entrySet()) {
+            Histogram histogram = entry.getValue();
+            long errorCount = errors.get(entry.getKey());
+            row(out, entry.getKey().key(), histogram, errorCount);
+            if (total == null) {
+                total = histogram.copy();
+            } else {
+                total.add(histogram);
+            }
+            totalErrors += errorCount;
+        }
+        if (total != null && histograms.size() > 1) {
+            row(out, "all", total, totalErrors);
+        }
+    }
+
+    private void row(PrintStream out, String name, Histogram histogram, long errorCount) {
+        out.printf(ROW, name, histogram.getTotalCount(),
+                histogram.getTotalCount() / (duration.toMillis() / 1000.0),
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue()), errorCount);
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
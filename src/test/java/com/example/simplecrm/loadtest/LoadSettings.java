@@ -0,0 +1,27 @@
+package com.example.simplecrm.loadtest;
+
+import java.time.Duration;
+
+/**
+ * Load-test knobs, read from {@code -Dloadtest.*} system properties (set by the loadtest Maven profile).
+ */
+record LoadSettings(int concurrency, Duration warmup, Duration duration, String mix,
+                    int customers, int ordersPerCustomer) {
+
+    static final String DEFAULT_MIX =
+            "get-customer=40,list-customers=10,list-orders=25,create-customer=10,create-order=10,update-status=5";
+
+    static LoadSettings fromSystemProperties() {
+        return new LoadSettings(
+                Integer.getInteger("loadtest.concurrency", 32),
+                duration(System.getProperty("loadtest.warmup", "10s")),
+                duration(System.getProperty("loadtest.duration", "30s")),
+                System.getProperty("loadtest.mix", DEFAULT_MIX),
+                Integer.getInteger("loadtest.customers", 2000),
+                Integer.getInteger("loadtest.orders-per-customer", 5));
+    }
+
+    private static Duration duration(String value) {
+        return Duration.parse("PT" + value.toUpperCase());
+    }
+}
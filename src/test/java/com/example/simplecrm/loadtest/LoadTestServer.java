@@ -0,0 +1,104 @@
+package com.example.simplecrm.loadtest;
+
+import com.example.simplecrm.SimplecrmApplication;
+import com.example.simplecrm.dto.order.OrderRequestDTO;
+import com.example.simplecrm.dto.order.OrderResponseDTO;
+import com.example.simplecrm.model.Customer;
+import com.example.simplecrm.repository.CustomerRepository;
+import com.example.simplecrm.service.CustomerImportService;
+import com.example.simplecrm.service.OrderService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The application on a random port over its own in-memory H2 database, seeded through the same
+ * services the API uses.
+ */
+final class LoadTestServer implements AutoCloseable {
+
+    private static final int ORDER_BATCH = 1000;
+
+    private final ConfigurableApplicationContext context;
+
+    private LoadTestServer(ConfigurableApplicationContext context) {
+        this.context = context;
+    }
+
+    static LoadTestServer start(String name, String... profiles) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(SimplecrmApplication.class)
+                .profiles(profiles)
+                .properties("server.port=0", "spring.devtools.restart.enabled=false")
+                // command-line arguments win over application-test.properties, so each server gets its own database
+                .run("--spring.datasource.url=jdbc:h2:mem:loadtest-" + name
+                                + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "--spring.r2dbc.url=r2dbc:h2:mem:///loadtest-" + name
+                                + "?options=MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        return new LoadTestServer(context);
+    }
+
+    URI baseUri() {
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        return URI.create("http://localhost:" + port);
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /** Inserts customers with a few orders each and returns their ids. */
+    SeedData seed(int customers, int ordersPerCustomer) {
+        StringBuilder body = new StringBuilder(customers * 80);
+        for (int i = 0; i < customers; i++) {
+            body.append("{\"name\":\"Customer ").append(i)
+                    .append("\",\"email\":\"customer").append(i)
+                    .append("@mail.com\",\"phone\":\"+1555").append(String.format("%07d", i))
+                    .append("\"}\n");
+        }
+        try {
+            bean(CustomerImportService.class)
+                    .importCustomers(new ByteArrayInputStream(body.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        List<Long> ids = bean(CustomerRepository.class).findAll().stream().map(Customer::getId).toList();
+
+        OrderService orderService = bean(OrderService.class);
+        List<OrderResponseDTO> orders = new ArrayList<>(ids.size() * ordersPerCustomer);
+        List<OrderRequestDTO> batch = new ArrayList<>(ORDER_BATCH);
+        for (Long id : ids) {
+            for (int i = 0; i < ordersPerCustomer; i++) {
+                OrderRequestDTO order = new OrderRequestDTO();
+                order.setCustomerId(id);
+                order.setDescription("Order " + i);
+                order.setAmount(BigDecimal.valueOf(10 + i));
+                batch.add(order);
+                if (batch.size() == ORDER_BATCH) {
+                    orders.addAll(orderService.createOrders(batch).getCreated());
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            orders.addAll(orderService.createOrders(batch).getCreated());
+        }
+        return new SeedData(
+                ids.stream().mapToLong(Long::longValue).toArray(),
+                orders.stream().mapToLong(OrderResponseDTO::getId).toArray(),
+                orders.stream().mapToLong(OrderResponseDTO::getCustomerId).toArray());
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.simplecrm.loadtest;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * Starts the application on an embedded H2 database, seeds it and drives the weighted mix of
+ * create/get/list customer, create/list order and status-update requests. Runs offline:
+ *
+ * <pre>mvn -Ploadtest verify -Dloadtest.concurrency=64 -Dloadtest.duration=60s \
+ *     -Dloadtest.mix=get-customer=80,list-orders=20</pre>
+ *
+ * {@code -Dloadtest.profiles} adds Spring profiles (e.g. {@code virtual-threads}) on top of {@code test}.
+ */
+public final class LoadTestSuite {
+
+    private LoadTestSuite() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadSettings settings = LoadSettings.fromSystemProperties();
+        String[] profiles = ("test," + System.getProperty("loadtest.profiles", "")).split(",+");
+
+        try (LoadTestServer server = LoadTestServer.start("suite", profiles)) {
+            SeedData seed = server.seed(settings.customers(), settings.ordersPerCustomer());
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            LoadDriver driver = new LoadDriver(client, new Workload(server.baseUri(), seed),
+                    Operation.parseMix(settings.mix()), settings.concurrency());
+
+            driver.run(settings.warmup());
+            driver.run(settings.duration())
+                    .print("concurrency " + settings.concurrency() + ", profiles " + String.join(",", profiles), System.out);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.simplecrm.loadtest;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * One endpoint in the load-test mix, named the way it is written in {@code -Dloadtest.mix}.
+ */
+enum Operation {
+    CREATE_CUSTOMER("create-customer"),
+    GET_CUSTOMER("get-customer"),
+    LIST_CUSTOMERS("list-customers"),
+    CREATE_ORDER("create-order"),
+    LIST_ORDERS("list-orders"),
+    UPDATE_STATUS("update-status");
+
+    private final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    String key() {
+        return key;
+    }
+
+    /** Parses {@code get-customer=40,list-orders=25,...} into weights; operations left out are not run. */
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected <operation>=<weight> but got '" + entry + "'");
+            }
+            Operation operation = Arrays.stream(values())
+                    .filter(op -> op.key.equals(parts[0].trim()))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown operation '" + parts[0] + "'"));
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(operation, weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Mix '" + mix + "' has no operation with a positive weight");
+        }
+        return weights;
+    }
+}
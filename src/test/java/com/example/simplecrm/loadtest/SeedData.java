@@ -0,0 +1,7 @@
+package com.example.simplecrm.loadtest;
+
+/**
+ * Ids created before the run. {@code orderCustomerIds[i]} owns {@code orderIds[i]}.
+ */
+record SeedData(long[] customerIds, long[] orderIds, long[] orderCustomerIds) {
+}
@@ -0,0 +1,53 @@
+package com.example.simplecrm.loadtest;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Runs the same read-heavy workload against the default platform-thread server and against the
+ * {@code virtual-threads} profile, and prints the report for each.
+ *
+ * <pre>mvn -Ploadtest verify -Dloadtest.main=com.example.simplecrm.loadtest.ThreadModeComparison \
+ *     -Dloadtest.concurrency=400</pre>
+ *
+ * On Java 17 the virtual-thread switch is ignored by Spring Boot, so the second run only measures the
+ * connection-pool limiter; build with {@code -Pjava21} to compare the thread models themselves.
+ */
+public final class ThreadModeComparison {
+
+    private static final Map<Operation, Integer> READ_MIX = Map.of(Operation.GET_CUSTOMER, 1, Operation.LIST_ORDERS, 1);
+
+    private ThreadModeComparison() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadSettings settings = LoadSettings.fromSystemProperties();
+
+        if (Runtime.version().feature() < 21) {
+            System.out.println("Java " + Runtime.version().feature()
+                    + ": spring.threads.virtual.enabled has no effect, both runs use platform threads");
+        }
+
+        LoadReport platform = run("platform", settings, "test");
+        LoadReport virtual = run("virtual", settings, "test", "virtual-threads");
+
+        platform.print("platform threads, concurrency " + settings.concurrency(), System.out);
+        virtual.print("virtual threads, concurrency " + settings.concurrency(), System.out);
+    }
+
+    private static LoadReport run(String mode, LoadSettings settings, String... profiles) throws InterruptedException {
+        try (LoadTestServer server = LoadTestServer.start(mode, profiles)) {
+            SeedData seed = server.seed(settings.customers(), settings.ordersPerCustomer());
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            LoadDriver driver = new LoadDriver(client, new Workload(server.baseUri(), seed), READ_MIX,
+                    settings.concurrency());
+
+            driver.run(settings.warmup());
+            return driver.run(settings.duration());
+        }
+    }
+}
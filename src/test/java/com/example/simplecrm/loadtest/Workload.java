@@ -0,0 +1,67 @@
+package com.example.simplecrm.loadtest;
+
+import com.example.simplecrm.model.OrderStatus;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Builds the HTTP request for each operation. Reads pick uniformly random seeded ids. Status updates
+ * walk the seeded orders in turn, first NEW to PROCESSING and on the second pass to COMPLETED, so
+ * every update is a legal transition until both passes are used up.
+ */
+final class Workload {
+
+    private static final String JSON = "application/json";
+
+    private final URI base;
+    private final SeedData seed;
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong statusUpdates = new AtomicLong();
+
+    Workload(URI base, SeedData seed) {
+        this.base = base;
+        this.seed = seed;
+    }
+
+    HttpRequest request(Operation operation, ThreadLocalRandom random) {
+        return switch (operation) {
+            case CREATE_CUSTOMER -> {
+                long n = created.incrementAndGet();
+                yield post("/api/customers", """
+                        {"name":"Load %d","email":"load%d@mail.com","phone":"+1666%07d"}""".formatted(n, n, n % 10_000_000));
+            }
+            case GET_CUSTOMER -> get("/api/customers/" + randomCustomer(random));
+            case LIST_CUSTOMERS -> get("/api/customers?limit=50&after=" + random.nextLong(randomCustomer(random)));
+            case CREATE_ORDER -> post("/api/orders", """
+                    {"description":"Load order","amount":%d.50,"customerId":%d}""".formatted(random.nextInt(1, 1000), randomCustomer(random)));
+            case LIST_ORDERS -> get("/api/orders/" + randomCustomer(random) + "/orders");
+            case UPDATE_STATUS -> {
+                long n = statusUpdates.getAndIncrement();
+                int index = (int) (n % seed.orderIds().length);
+                OrderStatus target = n < seed.orderIds().length ? OrderStatus.PROCESSING : OrderStatus.COMPLETED;
+                yield HttpRequest.newBuilder(base.resolve("/api/orders/customer/" + seed.orderCustomerIds()[index]
+                                + "/status?orderId=" + seed.orderIds()[index] + "&orderStatus=" + target))
+                        .PUT(HttpRequest.BodyPublishers.noBody())
+                        .build();
+            }
+        };
+    }
+
+    private long randomCustomer(ThreadLocalRandom random) {
+        return seed.customerIds()[random.nextInt(seed.customerIds().length)];
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(base.resolve(path)).GET().build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(base.resolve(path))
+                .header("Content-Type", JSON)
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+}
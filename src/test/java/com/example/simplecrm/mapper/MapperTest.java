@@ -0,0 +1,71 @@
+package com.example.simplecrm.mapper;
+
+import com.example.simplecrm.dto.order.OrderRequestDTO;
+import com.example.simplecrm.dto.order.OrderResponseDTO;
+import com.example.simplecrm.model.Customer;
+import com.example.simplecrm.model.Order;
+import com.example.simplecrm.model.OrderStatus;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.*;
+
+class MapperTest {
+
+    private final OrderMapper orderMapper = new OrderMapperImpl();
+    private final CustomerMapper customerMapper = new CustomerMapperImpl();
+
+    @Test
+    void toDTO_ShouldFlattenCustomerIdAndStatus() {
+        Customer customer = new Customer();
+        customer.setId(7L);
+
+        Order order = new Order();
+        order.setId(100L);
+        order.setDescription("desc");
+        order.setAmount(new BigDecimal("10.50"));
+        order.setStatus(OrderStatus.PROCESSING);
+        order.setCreatedAt(LocalDateTime.of(2024, 1, 1, 10, 0));
+        order.setCustomer(customer);
+
+        OrderResponseDTO dto = orderMapper.toDTO(order);
+
+        assertThat(dto.getId()).isEqualTo(100L);
+        assertThat(dto.getDescription()).isEqualTo("desc");
+        assertThat(dto.getAmount()).isEqualByComparingTo("10.50");
+        assertThat(dto.getStatus()).isEqualTo("PROCESSING");
+        assertThat(dto.getCreatedAt()).isEqualTo(order.getCreatedAt());
+        assertThat(dto.getCustomerId()).isEqualTo(7L);
+    }
+
+    @Test
+    void toEntity_ShouldLeaveIdStatusAndCustomerToTheService() {
+        OrderRequestDTO request = new OrderRequestDTO();
+        request.setDescription("desc");
+        request.setAmount(BigDecimal.ONE);
+        request.setCustomerId(7L);
+
+        Order order = orderMapper.toEntity(request);
+
+        assertThat(order.getDescription()).isEqualTo("desc");
+        assertThat(order.getAmount()).isEqualByComparingTo(BigDecimal.ONE);
+        assertThat(order.getId()).isNull();
+        assertThat(order.getStatus()).isNull();
+        assertThat(order.getCustomer()).isNull();
+    }
+
+    @Test
+    void customerToDTO_ShouldCopyAllFields() {
+        Customer customer = new Customer();
+        customer.setId(1L);
+        customer.setName("Bob");
+        customer.setEmail("bob@mail.com");
+        customer.setPhone("+1234567");
+
+        assertThat(customerMapper.toDTO(customer))
+                .extracting("id", "name", "email", "phone")
+                .containsExactly(1L, "Bob", "bob@mail.com", "+1234567");
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.simplecrm.repository;
+
+import com.example.simplecrm.model.Customer;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.example.simplecrm.repository.CustomerRepositoryTest$CapturingInspector")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class CustomerRepositoryTest {
+
+    private static final int PAGE_SIZE = 10;
+    private static final int DEEP_PAGE = 10_000;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("""
+                insert into customer (id, name, email, phone)
+                select n, 'Customer ' || n, 'customer' || n || '@mail.com', '+1555' || n
+                from system_range(1, ?) as r(n)""", PAGE_SIZE * DEEP_PAGE + PAGE_SIZE);
+        CapturingInspector.SQL.clear();
+    }
+
+    @Test
+    void findByIdGreaterThan_ShouldWalkPagesInIdOrder() {
+        List<Customer> first = customerRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(PAGE_SIZE));
+        List<Customer> second = customerRepository.findByIdGreaterThanOrderByIdAsc(
+                first.get(PAGE_SIZE - 1).getId(), Limit.of(PAGE_SIZE));
+
+        assertThat(first).hasSize(PAGE_SIZE);
+        assertThat(second).hasSize(PAGE_SIZE);
+        assertThat(second.get(0).getId()).isGreaterThan(first.get(PAGE_SIZE - 1).getId());
+        assertThat(CapturingInspector.SQL)
+                .isNotEmpty()
+                .allSatisfy(sql -> assertThat(sql.toLowerCase()).doesNotContain("offset"));
+    }
+
+    @Test
+    void deepPage_ShouldCostTheSameAsFirstPage() {
+        long firstId = jdbcTemplate.queryForObject("select min(id) from customer", Long.class);
+        long afterDeepPage = firstId + (long) PAGE_SIZE * (DEEP_PAGE - 1) - 1;
+
+        long firstPageNanos = medianNanos(0L);
+        long deepPageNanos = medianNanos(afterDeepPage);
+
+        assertThat(customerRepository.findByIdGreaterThanOrderByIdAsc(afterDeepPage, Limit.of(PAGE_SIZE)))
+                .hasSize(PAGE_SIZE)
+                .first()
+                .extracting(Customer::getName)
+                .isEqualTo("Customer " + ((DEEP_PAGE - 1) * PAGE_SIZE + 1));
+        // An OFFSET scan over 100k rows is orders of magnitude slower; allow generous noise on top of equal cost.
+        assertThat(deepPageNanos).isLessThan(firstPageNanos * 3 + 2_000_000);
+        assertThat(CapturingInspector.SQL)
+                .isNotEmpty()
+                .allSatisfy(sql -> assertThat(sql.toLowerCase()).doesNotContain("offset"));
+    }
+
+    @Test
+    void searchPrefix_ShouldTreatLikeWildcardsLiterallyAndKeepIndexOrder() {
+        jdbcTemplate.update("""
+                insert into customer (id, name, email, phone, search_name, search_email, search_phone) values
+                (900001, 'Ann_Lee', 'a1@mail.com', '+1', 'ann_lee', 'a1@mail.com', '1'),
+                (900002, 'AnnXLee', 'a2@mail.com', '+2', 'annxlee', 'a2@mail.com', '2'),
+                (900003, 'Ann_Lee', 'a3@mail.com', '+3', 'ann_lee', 'a3@mail.com', '3')""");
+
+        List<Customer> hits = customerRepository.findBySearchNameStartingWithOrderBySearchNameAscIdAsc("ann_", Limit.of(5));
+
+        assertThat(hits).extracting(Customer::getId).containsExactly(900001L, 900003L);
+    }
+
+    private long medianNanos(long after) {
+        long[] samples = new long[51];
+        for (int warmup = 0; warmup < 50; warmup++) {
+            customerRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(PAGE_SIZE));
+        }
+        for (int i = 0; i < samples.length; i++) {
+            long start = System.nanoTime();
+            customerRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(PAGE_SIZE));
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples[samples.length / 2];
+    }
+
+    public static class CapturingInspector implements StatementInspector {
+        static final List<String> SQL = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            SQL.add(sql);
+            return sql;
+        }
+    }
+}
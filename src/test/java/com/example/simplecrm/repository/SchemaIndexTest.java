@@ -0,0 +1,94 @@
+package com.example.simplecrm.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Guards the indexes our query paths rely on. Runs all Flyway migrations against an embedded
+ * database and fails if a migration drops, renames or changes the columns or uniqueness of one.
+ */
+@DataJpaTest(properties =
+        "spring.datasource.url=jdbc:h2:mem:schema;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class SchemaIndexTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void ordersCustomerIdShouldHaveForeignKeyIndex() throws SQLException {
+        assertThat(indexes("orders")).containsEntry("idx_orders_customer_id", new IndexDefinition(false, List.of("customer_id")));
+    }
+
+    @Test
+    void ordersShouldHaveCompositeListingIndex() throws SQLException {
+        assertThat(indexes("orders")).containsEntry("idx_orders_customer_created_at_id",
+                new IndexDefinition(false, List.of("customer_id", "created_at", "id")));
+    }
+
+    @Test
+    void ordersShouldHaveStatusFilteredListingIndex() throws SQLException {
+        assertThat(indexes("orders")).containsEntry("idx_orders_customer_status_created_at_id",
+                new IndexDefinition(false, List.of("customer_id", "status", "created_at", "id")));
+    }
+
+    @Test
+    void orderEventsShouldHaveRetentionIndex() throws SQLException {
+        assertThat(indexes("order_event")).containsEntry("idx_order_event_occurred_at",
+                new IndexDefinition(false, List.of("occurred_at")));
+    }
+
+    @Test
+    void customerEmailShouldBeUnique() throws SQLException {
+        assertThat(indexes("customer")).containsEntry("uq_customer_email", new IndexDefinition(true, List.of("email")));
+    }
+
+    @Test
+    void customerSearchKeysShouldHavePrefixIndexes() throws SQLException {
+        assertThat(indexes("customer"))
+                .containsEntry("idx_customer_search_name", new IndexDefinition(false, List.of("search_name", "id")))
+                .containsEntry("idx_customer_search_email", new IndexDefinition(false, List.of("search_email", "id")))
+                .containsEntry("idx_customer_search_phone", new IndexDefinition(false, List.of("search_phone", "id")));
+    }
+
+    private Map<String, IndexDefinition> indexes(String table) throws SQLException {
+        Map<String, Boolean> unique = new HashMap<>();
+        Map<String, TreeMap<Short, String>> columns = new HashMap<>();
+        try (Connection connection = dataSource.getConnection();
+             ResultSet rs = connection.getMetaData().getIndexInfo(null, null, table, false, false)) {
+            while (rs.next()) {
+                String name = rs.getString("INDEX_NAME");
+                if (name == null || rs.getShort("TYPE") == DatabaseMetaData.tableIndexStatistic) {
+                    continue;
+                }
+                name = name.toLowerCase();
+                unique.put(name, !rs.getBoolean("NON_UNIQUE"));
+                columns.computeIfAbsent(name, k -> new TreeMap<>())
+                        .put(rs.getShort("ORDINAL_POSITION"), rs.getString("COLUMN_NAME").toLowerCase());
+            }
+        }
+        Map<String, IndexDefinition> result = new HashMap<>();
+        columns.forEach((name, cols) -> result.put(name, new IndexDefinition(unique.get(name), new ArrayList<>(cols.values()))));
+        return result;
+    }
+
+    private record IndexDefinition(boolean unique, List<String> columns) {
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.simplecrm.repository;
+
+import com.example.simplecrm.model.Customer;
+import com.example.simplecrm.model.Order;
+import com.example.simplecrm.model.OrderStatus;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Adopts a database that ddl-auto=update created with IDENTITY ids and filled before Flyway took over:
+ * new rows must get ids past the existing ones instead of colliding with them.
+ */
+@DataJpaTest(properties = "spring.datasource.url=" + SequenceAdoptionTest.URL)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class SequenceAdoptionTest {
+
+    static final String URL = "jdbc:h2:mem:adopted;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    private static final int EXISTING_ROWS = 120;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @BeforeAll
+    static void createLegacySchema() {
+        JdbcTemplate legacy = new JdbcTemplate(new DriverManagerDataSource(URL, "sa", ""));
+        legacy.execute("""
+                create table customer (
+                    id bigint generated by default as identity primary key,
+                    name varchar(255), email varchar(255), phone varchar(255))""");
+        legacy.execute("""
+                create table orders (
+                    id bigint generated by default as identity primary key,
+                    description varchar(255), amount numeric(38, 2), status varchar(255), created_at timestamp(6),
+                    customer_id bigint references customer (id))""");
+        legacy.update("""
+                insert into customer (name, email, phone)
+                select 'Customer ' || n, 'customer' || n || '@mail.com', '+1555' || n from system_range(1, ?) as r(n)""",
+                EXISTING_ROWS);
+        legacy.update("""
+                insert into orders (description, amount, status, created_at, customer_id)
+                select 'Order ' || n, 10, 'NEW', current_timestamp, n from system_range(1, ?) as r(n)""",
+                EXISTING_ROWS);
+    }
+
+    @Test
+    void newRowsGetIdsPastTheAdoptedOnes() {
+        Customer customer = new Customer();
+        customer.setName("New");
+        customer.setEmail("new@mail.com");
+        customer.setPhone("+1234567");
+        customer = customerRepository.saveAndFlush(customer);
+
+        Order order = Order.builder()
+                .description("New")
+                .amount(BigDecimal.TEN)
+                .status(OrderStatus.NEW)
+                .customer(customer)
+                .build();
+        order = orderRepository.saveAndFlush(order);
+
+        assertThat(customer.getId()).isGreaterThan(EXISTING_ROWS);
+        assertThat(order.getId()).isGreaterThan(EXISTING_ROWS);
+        assertThat(customerRepository.count()).isEqualTo(EXISTING_ROWS + 1);
+    }
+}
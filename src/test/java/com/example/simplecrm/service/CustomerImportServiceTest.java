@@ -0,0 +1,128 @@
+package com.example.simplecrm.service;
+
+import com.example.simplecrm.dto.BulkImportResultDTO;
+import com.example.simplecrm.model.Customer;
+import com.example.simplecrm.repository.CustomerRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:import;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "simplecrm.customers.bulk.batch-size=500"
+})
+@ActiveProfiles("test")
+class CustomerImportServiceTest {
+
+    @Autowired
+    private CustomerImportService customerImportService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        customerRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void importCustomers_ShouldImportValidRowsAndReportInvalidOnes_FromJsonArray() throws IOException {
+        String body = """
+                [
+                  {"name": "Bob", "email": "bob@mail.com", "phone": "+1234567"},
+                  {"name": "Nick", "email": "not-an-email", "phone": "+1234567"},
+                  {"name": "Ann", "email": "ann@mail.com", "phone": "+7654321"}
+                ]""";
+
+        BulkImportResultDTO result = customerImportService.importCustomers(stream(body));
+
+        assertThat(result.getReceived()).isEqualTo(3);
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getErrors()).singleElement().satisfies(error -> {
+            assertThat(error.getIndex()).isEqualTo(1);
+            assertThat(error.getMessages()).containsExactly("email:Email should be valid");
+        });
+        assertThat(customerRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void importCustomers_ShouldInsertNdjsonInJdbcBatches() throws IOException {
+        int rows = 1200;
+        String body = IntStream.range(0, rows)
+                .mapToObj(i -> "{\"name\":\"Customer " + i + "\",\"email\":\"c" + i + "@mail.com\",\"phone\":\"+1555" + String.format("%04d", i) + "\"}")
+                .collect(Collectors.joining("\n"));
+
+        BulkImportResultDTO result = customerImportService.importCustomers(stream(body));
+
+        assertThat(result.getImported()).isEqualTo(rows);
+        assertThat(result.getErrors()).isEmpty();
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(rows);
+        // 3 batches of inserts plus pooled sequence fetches (one per 50 ids) - nowhere near one statement per row
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(rows / 20);
+        assertThat(customerRepository.count()).isEqualTo(rows);
+    }
+
+    @Test
+    void importCustomers_ShouldRejectOnlyTheDuplicateRow_WhenTheDatabaseRejectsABatch() throws IOException {
+        String body = """
+                [
+                  {"name": "Bob", "email": "bob@mail.com", "phone": "+1234567"},
+                  {"name": "Bobby", "email": "bob@mail.com", "phone": "+1234568"},
+                  {"name": "Ann", "email": "ann@mail.com", "phone": "+7654321"}
+                ]""";
+
+        BulkImportResultDTO result = customerImportService.importCustomers(stream(body));
+
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getErrors()).singleElement().satisfies(error -> {
+            assertThat(error.getIndex()).isEqualTo(1);
+            assertThat(error.getMessages()).singleElement().asString().startsWith("Rejected by database: ");
+        });
+        assertThat(customerRepository.findAll()).extracting(Customer::getName).containsExactlyInAnyOrder("Bob", "Ann");
+    }
+
+    @Test
+    void importCustomers_ShouldKeepImportedRows_WhenStreamIsMalformed() throws IOException {
+        String body = """
+                {"name": "Bob", "email": "bob@mail.com", "phone": "+1234567"}
+                {"name": "Ann", "email": "ann@mail.com", "phone": "+7654321"}
+                {"name": "Broken\"""";
+
+        BulkImportResultDTO result = customerImportService.importCustomers(stream(body));
+
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getErrors()).singleElement()
+                .satisfies(error -> assertThat(error.getIndex()).isEqualTo(2));
+        assertThat(customerRepository.count()).isEqualTo(2);
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
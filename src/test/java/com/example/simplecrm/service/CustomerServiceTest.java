@@ -1,16 +1,24 @@
 package com.example.simplecrm.service;
 
+import com.example.simplecrm.cache.CustomerCache;
+import com.example.simplecrm.dto.CursorPage;
+import com.example.simplecrm.dto.CustomerMultiGetResultDTO;
 import com.example.simplecrm.dto.CustomerRequestDTO;
 import com.example.simplecrm.dto.CustomerResponseDTO;
 import com.example.simplecrm.exception.CustomerNotFoundException;
 import com.example.simplecrm.mapper.CustomerMapper;
 import com.example.simplecrm.model.Customer;
 import com.example.simplecrm.repository.CustomerRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,6 +36,12 @@ class CustomerServiceTest {
     @Mock
     private CustomerMapper mapper;
 
+    @Spy
+    private CustomerCache customerCache = new CustomerCache(100, Duration.ofMinutes(1));
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private CustomerService customerService;
 
@@ -50,6 +64,25 @@ class CustomerServiceTest {
         verify(customerRepository).findById(1L);
     }
 
+    @Test
+    void getCustomerById_ShouldServeRepeatedReadsFromCache_UntilUpdated() {
+        Customer customer = new Customer();
+        customer.setId(1L);
+
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
+        when(mapper.toDTO(customer)).thenReturn(new CustomerResponseDTO());
+
+        customerService.getCustomerById(1L);
+        customerService.getCustomerById(1L);
+        verify(customerRepository, times(1)).findById(1L);
+
+        customerService.updateCustomer(new CustomerRequestDTO(), 1L);
+        customerService.getCustomerById(1L);
+
+        verify(customerCache).invalidate(1L);
+        verify(customerRepository, times(3)).findById(1L);
+    }
+
     @Test
     void getCustomerById_ShouldThrowException_WhenCustomerDoesNotExist() {
         when(customerRepository.findById(1L)).thenReturn(Optional.empty());
@@ -69,6 +102,7 @@ class CustomerServiceTest {
 
         verify(customerRepository).findById(1L);
         verify(customerRepository).delete(customer);
+        verify(customerCache).invalidate(1L);
     }
 
     @Test
@@ -155,7 +189,7 @@ class CustomerServiceTest {
     }
 
     @Test
-    void getAllCustomers_ShouldReturnAllCustomers() {
+    void getCustomers_ShouldReturnPageAndCursor_WhenMoreRowsExist() {
         Customer customer1 = new Customer();
         customer1.setId(1L);
         customer1.setName("Bob");
@@ -164,6 +198,10 @@ class CustomerServiceTest {
         customer2.setId(2L);
         customer2.setName("Nick");
 
+        Customer customer3 = new Customer();
+        customer3.setId(3L);
+        customer3.setName("Ann");
+
         CustomerResponseDTO response1 = new CustomerResponseDTO();
         response1.setId(1L);
         response1.setName("Bob");
@@ -172,15 +210,98 @@ class CustomerServiceTest {
         response2.setId(2L);
         response2.setName("Nick");
 
-        when(customerRepository.findAll()).thenReturn(List.of(customer1, customer2));
+        when(customerRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(3)))
+                .thenReturn(List.of(customer1, customer2, customer3));
         when(mapper.toDTO(customer1)).thenReturn(response1);
         when(mapper.toDTO(customer2)).thenReturn(response2);
 
-        List<CustomerResponseDTO> result = customerService.getAllCustomers();
+        CursorPage<CustomerResponseDTO> result = customerService.getCustomers(null, 2);
 
-        assertThat(result.size()).isEqualTo(2);
-        assertThat(result).extracting("name").containsExactlyInAnyOrder("Bob", "Nick");
+        assertThat(result.items()).extracting("name").containsExactly("Bob", "Nick");
+        assertThat(result.nextCursor()).isEqualTo("2");
+        verify(mapper, never()).toDTO(customer3);
+    }
 
-        verify(customerRepository, times(1)).findAll();
+    @Test
+    void getCustomers_ShouldReturnNoCursor_OnLastPage() {
+        Customer customer = new Customer();
+        customer.setId(5L);
+
+        CustomerResponseDTO response = new CustomerResponseDTO();
+        response.setId(5L);
+
+        when(customerRepository.findByIdGreaterThanOrderByIdAsc(4L, Limit.of(3))).thenReturn(List.of(customer));
+        when(mapper.toDTO(customer)).thenReturn(response);
+
+        CursorPage<CustomerResponseDTO> result = customerService.getCustomers(4L, 2);
+
+        assertThat(result.items()).hasSize(1);
+        assertThat(result.nextCursor()).isNull();
+        verify(customerRepository, never()).findAll();
+    }
+
+    @Test
+    void search_ShouldRankExactEmailThenEmailPrefixThenNameAndDropDuplicates() {
+        Customer exactEmail = searchable(1L, "Zed", "bob@mail.com", "+1 555-0100");
+        Customer emailPrefix = searchable(2L, "Ann", "bob@mail.community", "+1 555-0101");
+        Customer namePrefix = searchable(3L, "Bob Stone", "stone@mail.com", "+1 555-0102");
+        when(customerRepository.findBySearchEmailStartingWithOrderBySearchEmailAscIdAsc("bob@mail.com", Limit.of(10)))
+                .thenReturn(List.of(emailPrefix, exactEmail));
+        when(customerRepository.findBySearchNameStartingWithOrderBySearchNameAscIdAsc("bob@mail.com", Limit.of(10)))
+                .thenReturn(List.of(namePrefix, exactEmail));
+        when(mapper.toDTO(any(Customer.class))).thenAnswer(invocation -> {
+            CustomerResponseDTO dto = new CustomerResponseDTO();
+            dto.setId(invocation.<Customer>getArgument(0).getId());
+            return dto;
+        });
+
+        List<CustomerResponseDTO> result = customerService.search(" Bob@Mail.com ", 10);
+
+        assertThat(result).extracting(CustomerResponseDTO::getId).containsExactly(1L, 2L, 3L);
+        verify(customerRepository, never()).findBySearchPhoneStartingWithOrderBySearchPhoneAscIdAsc(any(), any());
+    }
+
+    @Test
+    void search_ShouldMatchPhoneDigits_WhenQueryLooksLikePhone() {
+        Customer customer = searchable(7L, "Bob", "bob@mail.com", "+1 555-0100");
+        when(customerRepository.findBySearchPhoneStartingWithOrderBySearchPhoneAscIdAsc("1555", Limit.of(5)))
+                .thenReturn(List.of(customer));
+        when(mapper.toDTO(customer)).thenReturn(new CustomerResponseDTO());
+
+        assertThat(customerService.search("+1 555", 5)).hasSize(1);
+    }
+
+    @Test
+    void getCustomersByIds_ShouldKeepRequestOrderAndReportMissing_ReadingOnlyUncachedIds() {
+        Customer first = new Customer();
+        first.setId(1L);
+        Customer third = new Customer();
+        third.setId(3L);
+        CustomerResponseDTO cached = new CustomerResponseDTO();
+        cached.setId(2L);
+        customerCache.get(2L, id -> cached);
+
+        when(customerRepository.findAllById(List.of(3L, 1L, 4L))).thenReturn(List.of(first, third));
+        when(mapper.toDTO(any(Customer.class))).thenAnswer(invocation -> {
+            CustomerResponseDTO dto = new CustomerResponseDTO();
+            dto.setId(invocation.<Customer>getArgument(0).getId());
+            return dto;
+        });
+
+        CustomerMultiGetResultDTO result = customerService.getCustomersByIds(List.of(3L, 2L, 1L, 4L, 3L));
+
+        assertThat(result.getCustomers()).extracting(CustomerResponseDTO::getId).containsExactly(3L, 2L, 1L);
+        assertThat(result.getMissingIds()).containsExactly(4L);
+        verify(customerRepository).findAllById(List.of(3L, 1L, 4L));
+    }
+
+    private static Customer searchable(Long id, String name, String email, String phone) {
+        Customer customer = new Customer();
+        customer.setId(id);
+        customer.setName(name);
+        customer.setEmail(email);
+        customer.setPhone(phone);
+        customer.updateSearchKeys();
+        return customer;
     }
-}
\ No newline at end of file
+}
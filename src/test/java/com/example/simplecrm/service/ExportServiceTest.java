@@ -0,0 +1,131 @@
+package com.example.simplecrm.service;
+
+import com.example.simplecrm.dto.ExportFormat;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Exports a million rows while surefire caps the heap (see the bounded-heap execution in pom.xml).
+ * The database is file-backed so the table itself does not live on the test heap.
+ */
+@Tag("bounded-heap")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:file:./target/export-test/simplecrm;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+                + "LAZY_QUERY_EXECUTION=TRUE;CACHE_SIZE=8192",
+        "spring.jpa.open-in-view=false"
+})
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ExportServiceTest {
+
+    private static final String DATABASE_DIRECTORY = "./target/export-test";
+    private static final int ROWS = 1_000_000;
+    private static final int ORDER_ROWS = 100_000;
+    /** The -Xmx of the bounded-heap surefire execution in pom.xml. */
+    private static final long MAX_TEST_HEAP = 128L * 1024 * 1024;
+
+    static {
+        // Start from an empty file database; it would otherwise keep last run's rows and migrations.
+        try {
+            FileSystemUtils.deleteRecursively(Path.of(DATABASE_DIRECTORY));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("""
+                insert into customer (id, name, email, phone)
+                select n, 'Customer ' || n, 'customer' || n || '@mail.com', '+1555' || n
+                from system_range(1, ?) as r(n)""", ROWS);
+        jdbcTemplate.update("""
+                insert into orders (id, description, amount, status, created_at, customer_id)
+                select n, 'Order, "no." ' || n, n / 100.0, 'NEW', timestamp '2024-01-01 00:00:00', n
+                from system_range(1, ?) as r(n)""", ORDER_ROWS);
+    }
+
+    @Test
+    void heapShouldBeCapped() {
+        assertThat(Runtime.getRuntime().maxMemory()).isLessThanOrEqualTo(MAX_TEST_HEAP);
+    }
+
+    @Test
+    void exportCustomers_ShouldStreamMillionRowsAsNdjson() throws IOException {
+        LineCountingOutputStream out = new LineCountingOutputStream();
+
+        long exported = exportService.exportCustomers(ExportFormat.NDJSON, out);
+
+        assertThat(exported).isEqualTo(ROWS);
+        assertThat(out.lines).isEqualTo(ROWS);
+        assertThat(out.firstLine()).startsWith("{\"id\":").contains("\"email\":\"customer1@mail.com\"");
+    }
+
+    @Test
+    void exportOrders_ShouldStreamRowsAsEscapedCsv() throws IOException {
+        LineCountingOutputStream out = new LineCountingOutputStream();
+
+        long exported = exportService.exportOrders(ExportFormat.CSV, out);
+
+        assertThat(exported).isEqualTo(ORDER_ROWS);
+        assertThat(out.lines).isEqualTo(ORDER_ROWS + 1);
+        assertThat(out.firstLine()).isEqualTo("id,description,amount,status,createdAt,customerId");
+        assertThat(out.secondLine()).contains(",\"Order, \"\"no.\"\" 1\",").contains(",NEW,2024-01-01T00:00,");
+    }
+
+    /** Discards the export while counting lines, so only the export pipeline itself uses heap. */
+    private static class LineCountingOutputStream extends OutputStream {
+        private final ByteArrayOutputStream head = new ByteArrayOutputStream();
+        private long lines;
+
+        @Override
+        public void write(int b) {
+            if (lines < 2) {
+                head.write(b);
+            }
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                write(b[i]);
+            }
+        }
+
+        String firstLine() {
+            return line(0);
+        }
+
+        String secondLine() {
+            return line(1);
+        }
+
+        private String line(int index) {
+            return head.toString(StandardCharsets.UTF_8).split("\n")[index];
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.simplecrm.service;
+
+import com.example.simplecrm.dto.order.OrderBatchResultDTO;
+import com.example.simplecrm.dto.order.OrderRequestDTO;
+import com.example.simplecrm.model.Customer;
+import com.example.simplecrm.repository.CustomerRepository;
+import com.example.simplecrm.repository.OrderRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:order-batch;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@ActiveProfiles("test")
+class OrderBatchServiceTest {
+
+    private static final int ORDERS = 1000;
+    private static final int JDBC_BATCH_SIZE = 50;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAllInBatch();
+        customerRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void createOrders_ShouldInsertThousandOrdersWithBoundedStatementCount() {
+        List<Long> customerIds = customerRepository.saveAll(IntStream.range(0, 100).mapToObj(i -> {
+            Customer customer = new Customer();
+            customer.setName("Customer " + i);
+            customer.setEmail("customer" + i + "@mail.com");
+            customer.setPhone("+15550000");
+            return customer;
+        }).toList()).stream().map(Customer::getId).toList();
+
+        List<OrderRequestDTO> requests = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            OrderRequestDTO request = new OrderRequestDTO();
+            request.setDescription("Order " + i);
+            request.setAmount(BigDecimal.TEN);
+            request.setCustomerId(i == 500 ? -1L : customerIds.get(i % customerIds.size()));
+            requests.add(request);
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        OrderBatchResultDTO result = orderService.createOrders(requests);
+
+        assertThat(result.getCreated()).hasSize(ORDERS - 1);
+        assertThat(result.getErrors()).singleElement()
+                .satisfies(error -> assertThat(error.getIndex()).isEqualTo(500));
+        assertThat(result.getCreated()).allSatisfy(order -> assertThat(order.getCustomerId()).isNotNull());
+
+        // 1 existence query + one pooled sequence fetch and one insert batch per 50 orders + one outbox insert
+        long budget = 1 + 2L * (ORDERS / JDBC_BATCH_SIZE) + 1 + 1;
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(budget);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(ORDERS - 1);
+        assertThat(orderRepository.count()).isEqualTo(ORDERS - 1);
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.simplecrm.service;
+
+import com.example.simplecrm.dto.CursorPage;
+import com.example.simplecrm.dto.order.OrderEventDTO;
+import com.example.simplecrm.dto.order.OrderRequestDTO;
+import com.example.simplecrm.dto.order.OrderResponseDTO;
+import com.example.simplecrm.exception.ChangeFeedCursorExpiredException;
+import com.example.simplecrm.model.Customer;
+import com.example.simplecrm.model.OrderEventType;
+import com.example.simplecrm.model.OrderStatus;
+import com.example.simplecrm.repository.CustomerRepository;
+import com.example.simplecrm.repository.OrderRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:order-change-feed;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "simplecrm.orders.changes.poll-interval=100ms",
+        "simplecrm.orders.changes.retention=1d"
+})
+@ActiveProfiles("test")
+class OrderChangeFeedTest {
+
+    @Autowired
+    private OrderChangeFeed orderChangeFeed;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Customer customer;
+    private long start;
+
+    @BeforeEach
+    void seed() {
+        customer = new Customer();
+        customer.setName("Bob");
+        customer.setEmail("bob@mail.com");
+        customer.setPhone("+1234567");
+        customer = customerRepository.save(customer);
+        start = latestEventId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAllInBatch();
+        customerRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void read_ShouldReturnCommittedChangesInOrder() {
+        OrderResponseDTO order = createOrder();
+        orderService.updateOrderStatus(order.getId(), OrderStatus.PROCESSING, customer.getId());
+
+        CursorPage<OrderEventDTO> page = orderChangeFeed.read(start, 100);
+
+        assertThat(page.items()).extracting(OrderEventDTO::getType, OrderEventDTO::getStatus, OrderEventDTO::getOrderId)
+                .containsExactly(
+                        tuple(OrderEventType.CREATED, "NEW", order.getId()),
+                        tuple(OrderEventType.STATUS_CHANGED, "PROCESSING", order.getId()));
+        assertThat(page.nextCursor()).isEqualTo(String.valueOf(latestEventId()));
+        assertThat(orderChangeFeed.read(Long.parseLong(page.nextCursor()), 100).items()).isEmpty();
+    }
+
+    @Test
+    void poll_ShouldWaitForTheNextCommit() throws Exception {
+        CompletableFuture<CursorPage<OrderEventDTO>> poll = orderChangeFeed.poll(start, 100, Duration.ofSeconds(10));
+        assertThat(poll).isNotDone();
+
+        OrderResponseDTO order = createOrder();
+
+        assertThat(poll.get(5, TimeUnit.SECONDS).items()).singleElement()
+                .satisfies(event -> assertThat(event.getOrderId()).isEqualTo(order.getId()));
+    }
+
+    @Test
+    void poll_ShouldAnswerWithAnEmptyPageWhenNothingArrivesInTime() throws Exception {
+        CursorPage<OrderEventDTO> page = orderChangeFeed.poll(start, 100, Duration.ofMillis(200)).get(5, TimeUnit.SECONDS);
+
+        assertThat(page.items()).isEmpty();
+        assertThat(page.nextCursor()).isEqualTo(String.valueOf(start));
+    }
+
+    @Test
+    void read_ShouldHoldBackEventsBehindARecentGap_UntilItSettles() {
+        long afterGap = start + 1_000_000;
+        insertEvent(afterGap, LocalDateTime.now());
+        try {
+            assertThat(orderChangeFeed.read(start, 100).items()).isEmpty();
+
+            jdbcTemplate.update("update order_event set occurred_at = ? where id = ?", LocalDateTime.now().minusMinutes(1), afterGap);
+            assertThat(orderChangeFeed.read(start, 100).items()).extracting(OrderEventDTO::getId).containsExactly(afterGap);
+        } finally {
+            jdbcTemplate.update("delete from order_event where id = ?", afterGap);
+        }
+    }
+
+    @Test
+    void prune_ShouldDropOldEventsAndExpireCursorsBehindThem() {
+        createOrder();
+        createOrder();
+        jdbcTemplate.update("update order_event set occurred_at = ? where id > ?", LocalDateTime.now().minusDays(2), start);
+
+        orderChangeFeed.prune();
+
+        assertThatThrownBy(() -> orderChangeFeed.read(start, 100)).isInstanceOf(ChangeFeedCursorExpiredException.class);
+        CursorPage<OrderEventDTO> fromOldest = orderChangeFeed.read(null, 100);
+        assertThat(fromOldest.items()).isEmpty();
+        assertThat(fromOldest.nextCursor()).isEqualTo(String.valueOf(latestEventId()));
+    }
+
+    private OrderResponseDTO createOrder() {
+        OrderRequestDTO request = new OrderRequestDTO();
+        request.setDescription("Order");
+        request.setAmount(BigDecimal.TEN);
+        request.setCustomerId(customer.getId());
+        return orderService.createOrder(request);
+    }
+
+    private void insertEvent(long id, LocalDateTime occurredAt) {
+        jdbcTemplate.update("""
+                insert into order_event (id, order_id, customer_id, type, status, amount, occurred_at)
+                values (?, 1, ?, 'CREATED', 'NEW', 10, ?)""", id, customer.getId(), occurredAt);
+    }
+
+    /** Position of the newest event, or the retention mark once everything has been pruned. */
+    private long latestEventId() {
+        return jdbcTemplate.queryForObject("""
+                select coalesce(max(id), (select pruned_through from order_event_retention where id = 1))
+                from order_event""", Long.class);
+    }
+}
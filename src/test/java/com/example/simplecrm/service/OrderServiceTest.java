@@ -1,8 +1,10 @@
 package com.example.simplecrm.service;
 
+import com.example.simplecrm.dto.order.OrderBatchResultDTO;
 import com.example.simplecrm.dto.order.OrderRequestDTO;
 import com.example.simplecrm.dto.order.OrderResponseDTO;
 import com.example.simplecrm.exception.CustomerNotFoundException;
+import com.example.simplecrm.exception.IllegalStatusTransitionException;
 import com.example.simplecrm.exception.OrderNotFoundException;
 import com.example.simplecrm.exception.UnauthorizedAccessException;
 import com.example.simplecrm.mapper.OrderMapper;
@@ -15,9 +17,12 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -36,6 +41,13 @@ class OrderServiceTest {
 
     @Mock
     private OrderMapper orderMapper;
+
+    @Mock
+    private OrderSummaryService orderSummaryService;
+
+    @Mock
+    private OrderChangeFeed orderChangeFeed;
+
     @InjectMocks
     private OrderService orderService;
 
@@ -90,6 +102,38 @@ class OrderServiceTest {
         verify(orderRepository, never()).save(any());
     }
 
+    @Test
+    void createOrders_ShouldCheckCustomersOnceAndReportUnknownOnes() {
+        OrderRequestDTO known = new OrderRequestDTO();
+        known.setCustomerId(1L);
+        OrderRequestDTO unknown = new OrderRequestDTO();
+        unknown.setCustomerId(2L);
+
+        Customer reference = new Customer();
+        reference.setId(1L);
+
+        Order mapped = new Order();
+        OrderResponseDTO response = new OrderResponseDTO();
+        response.setCustomerId(1L);
+
+        when(customerRepository.findExistingIds(anyCollection())).thenReturn(List.of(1L));
+        when(customerRepository.getReferenceById(1L)).thenReturn(reference);
+        when(orderMapper.toEntity(known)).thenReturn(mapped);
+        when(orderRepository.saveAll(List.of(mapped))).thenReturn(List.of(mapped));
+        when(orderMapper.toDTO(mapped)).thenReturn(response);
+
+        OrderBatchResultDTO result = orderService.createOrders(List.of(known, unknown));
+
+        assertThat(result.getCreated()).hasSize(1);
+        assertThat(result.getErrors()).singleElement().satisfies(error -> {
+            assertThat(error.getIndex()).isEqualTo(1);
+            assertThat(error.getMessages()).singleElement().asString().contains("2");
+        });
+        assertThat(mapped.getCustomer()).isSameAs(reference);
+        verify(customerRepository).findExistingIds(anyCollection());
+        verify(customerRepository, never()).findById(any());
+    }
+
     @Test
     void getAllOrders_ShouldReturnAllOrders_WhenCustomerExists() {
         Customer customer = new Customer();
@@ -131,13 +175,10 @@ class OrderServiceTest {
         Customer customer = new Customer();
         customer.setId(1L);
 
-        Order order = new Order();
-        order.setId(100L);
-        order.setStatus(OrderStatus.NEW);
+        when(orderRepository.transitionStatus(eq(100L), eq(1L), eq(OrderStatus.PROCESSING), anyCollection())).thenReturn(0);
+        when(orderRepository.findStatusViewById(100L)).thenReturn(Optional.empty());
 
-        when(orderRepository.findById(order.getId())).thenReturn(Optional.empty());
-
-        assertThatThrownBy(() -> orderService.updateOrderStatus(100L, order.getStatus(), customer.getId()))
+        assertThatThrownBy(() -> orderService.updateOrderStatus(100L, OrderStatus.PROCESSING, customer.getId()))
                 .isInstanceOf(OrderNotFoundException.class)
                 .hasMessageContaining("100");
 
@@ -149,60 +190,116 @@ class OrderServiceTest {
         Customer other = new Customer();
         other.setId(2L);
 
-        Customer customer = new Customer();
-        customer.setId(1L);
-
-        Order order = new Order();
-        order.setId(100L);
-        order.setCustomer(customer);
-        order.setStatus(OrderStatus.NEW);
+        when(orderRepository.transitionStatus(eq(100L), eq(2L), eq(OrderStatus.PROCESSING), anyCollection())).thenReturn(0);
+        when(orderRepository.findStatusViewById(100L)).thenReturn(Optional.of(statusView(1L, OrderStatus.NEW)));
 
-        when(orderRepository.findById(order.getId())).thenReturn(Optional.of(order));
-
-        assertThatThrownBy(() -> orderService.updateOrderStatus(order.getId(), order.getStatus(), other.getId()))
+        assertThatThrownBy(() -> orderService.updateOrderStatus(100L, OrderStatus.PROCESSING, other.getId()))
                 .isInstanceOf(UnauthorizedAccessException.class);
 
-        verify(orderRepository).findById(order.getId());
+        verify(orderRepository).findStatusViewById(100L);
+        verify(orderRepository, never()).findById(any());
         verify(orderRepository, never()).save(any());
     }
 
+    @Test
+    void updateOrderStatus_ShouldThrowIllegalTransition_WhenStatusCannotMove() {
+        when(orderRepository.transitionStatus(eq(100L), eq(1L), eq(OrderStatus.PROCESSING), anyCollection())).thenReturn(0);
+        when(orderRepository.findStatusViewById(100L)).thenReturn(Optional.of(statusView(1L, OrderStatus.COMPLETED)));
+
+        assertThatThrownBy(() -> orderService.updateOrderStatus(100L, OrderStatus.PROCESSING, 1L))
+                .isInstanceOf(IllegalStatusTransitionException.class)
+                .hasMessageContaining("COMPLETED")
+                .hasMessageContaining("PROCESSING");
+    }
+
+    @Test
+    void updateOrderStatus_ShouldReportConcurrentModification_WhenEveryUpdateLosesTheRace() {
+        when(orderSummaryService.isMaterialized()).thenReturn(true);
+        when(orderRepository.transitionStatus(eq(100L), eq(1L), eq(OrderStatus.CANCELLED), anyCollection())).thenReturn(0);
+        when(orderRepository.findStatusViewById(100L)).thenReturn(
+                Optional.of(statusView(1L, OrderStatus.NEW)),
+                Optional.of(statusView(1L, OrderStatus.PROCESSING)),
+                Optional.of(statusView(1L, OrderStatus.COMPLETED)),
+                Optional.of(statusView(1L, OrderStatus.NEW)));
+
+        assertThatThrownBy(() -> orderService.updateOrderStatus(100L, OrderStatus.CANCELLED, 1L))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+
+        // The status read that precedes the first UPDATE does not count as an attempt
+        verify(orderRepository, times(3)).transitionStatus(eq(100L), eq(1L), eq(OrderStatus.CANCELLED), anyCollection());
+    }
+
+    @Test
+    void updateOrderStatus_ShouldNotIssueUpdate_WhenNoStatusCanMoveToTarget() {
+        when(orderRepository.findStatusViewById(100L)).thenReturn(Optional.of(statusView(1L, OrderStatus.PROCESSING)));
+
+        assertThatThrownBy(() -> orderService.updateOrderStatus(100L, OrderStatus.NEW, 1L))
+                .isInstanceOf(IllegalStatusTransitionException.class);
+
+        verify(orderRepository, never()).transitionStatus(any(), any(), any(), any());
+    }
+
     @Test
     void updateOrderStatus_ShouldSuccess_WhenOrderIsUpdated() {
         Customer customer = new Customer();
         customer.setId(1L);
 
-        Order order = new Order();
-        order.setId(100L);
-        order.setCustomer(customer);
-        order.setStatus(OrderStatus.NEW);
-
         Order updatedOrder = new Order();
         updatedOrder.setId(100L);
         updatedOrder.setCustomer(customer);
-        order.setStatus(OrderStatus.PROCESSING);
+        updatedOrder.setStatus(OrderStatus.PROCESSING);
 
         OrderResponseDTO dto = new OrderResponseDTO();
         dto.setId(updatedOrder.getId());
         dto.setCustomerId(updatedOrder.getCustomer().getId());
-        dto.setStatus(String.valueOf(order.getStatus()));
-
+        dto.setStatus(String.valueOf(updatedOrder.getStatus()));
 
-        when(orderRepository.findById(order.getId())).thenReturn(Optional.of(order));
-        when(orderRepository.save(any(Order.class))).thenReturn(updatedOrder);
+        when(orderRepository.transitionStatus(100L, 1L, OrderStatus.PROCESSING, Set.of(OrderStatus.NEW))).thenReturn(1);
+        when(orderRepository.findById(100L)).thenReturn(Optional.of(updatedOrder));
         when(orderMapper.toDTO(updatedOrder)).thenReturn(dto);
 
-        OrderResponseDTO response = orderService.updateOrderStatus(order.getId(), updatedOrder.getStatus(), customer.getId());
+        OrderResponseDTO response = orderService.updateOrderStatus(100L, OrderStatus.PROCESSING, customer.getId());
 
         assertThat(response.getId()).isEqualTo(updatedOrder.getId());
         assertThat(response.getCustomerId()).isEqualTo(customer.getId());
         assertThat(response.getStatus()).isEqualTo(String.valueOf(OrderStatus.PROCESSING));
 
-        verify(orderRepository).findById(order.getId());
-        verify(orderRepository).save(argThat(o ->
-                o.getId().equals(order.getId()) &&
-                        o.getStatus() == updatedOrder.getStatus() &&
-                        o.getCustomer().getId().equals(customer.getId())
-        ));
+        verify(orderRepository).transitionStatus(100L, 1L, OrderStatus.PROCESSING, Set.of(OrderStatus.NEW));
+        verify(orderRepository, never()).findStatusViewById(any());
+        verify(orderRepository, never()).save(any());
         verify(orderMapper).toDTO(updatedOrder);
     }
+
+    @Test
+    void updateOrderStatus_ShouldMoveSummaryFromReadStatus_WhenSummaryIsMaterialized() {
+        Order cancelled = new Order();
+        cancelled.setId(100L);
+        cancelled.setAmount(BigDecimal.TEN);
+        cancelled.setStatus(OrderStatus.CANCELLED);
+
+        when(orderSummaryService.isMaterialized()).thenReturn(true);
+        when(orderRepository.findStatusViewById(100L)).thenReturn(Optional.of(statusView(1L, OrderStatus.PROCESSING)));
+        when(orderRepository.transitionStatus(100L, 1L, OrderStatus.CANCELLED, Set.of(OrderStatus.PROCESSING))).thenReturn(1);
+        when(orderRepository.findById(100L)).thenReturn(Optional.of(cancelled));
+        when(orderMapper.toDTO(cancelled)).thenReturn(new OrderResponseDTO());
+
+        orderService.updateOrderStatus(100L, OrderStatus.CANCELLED, 1L);
+
+        verify(orderRepository).transitionStatus(100L, 1L, OrderStatus.CANCELLED, Set.of(OrderStatus.PROCESSING));
+        verify(orderSummaryService).statusChanged(1L, OrderStatus.PROCESSING, OrderStatus.CANCELLED, BigDecimal.TEN);
+    }
+
+    private static OrderRepository.StatusView statusView(Long customerId, OrderStatus status) {
+        return new OrderRepository.StatusView() {
+            @Override
+            public Long getCustomerId() {
+                return customerId;
+            }
+
+            @Override
+            public OrderStatus getStatus() {
+                return status;
+            }
+        };
+    }
 }
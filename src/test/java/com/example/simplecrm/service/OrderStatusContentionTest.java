@@ -0,0 +1,126 @@
+package com.example.simplecrm.service;
+
+import com.example.simplecrm.exception.IllegalStatusTransitionException;
+import com.example.simplecrm.model.Customer;
+import com.example.simplecrm.model.Order;
+import com.example.simplecrm.model.OrderStatus;
+import com.example.simplecrm.repository.CustomerRepository;
+import com.example.simplecrm.repository.OrderRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties =
+        "spring.datasource.url=jdbc:h2:mem:order-contention;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("test")
+class OrderStatusContentionTest {
+
+    private static final int THREADS = 32;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private Customer customer;
+    private Order order;
+
+    @BeforeEach
+    void seed() {
+        customer = new Customer();
+        customer.setName("Bob");
+        customer.setEmail("bob@mail.com");
+        customer.setPhone("+1234567");
+        customer = customerRepository.save(customer);
+
+        order = orderRepository.save(Order.builder().description("Contended").amount(BigDecimal.TEN).customer(customer).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAllInBatch();
+        customerRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void sameTransitionFromManyThreads_ShouldSucceedExactlyOnce() throws Exception {
+        List<Outcome> outcomes = hammer(i -> OrderStatus.PROCESSING);
+
+        assertThat(outcomes).filteredOn(Outcome.APPLIED::equals).hasSize(1);
+        assertThat(outcomes).filteredOn(Outcome.REJECTED::equals).hasSize(THREADS - 1);
+
+        Order reloaded = orderRepository.findById(order.getId()).orElseThrow();
+        assertThat(reloaded.getStatus()).isEqualTo(OrderStatus.PROCESSING);
+        assertThat(reloaded.getVersion()).isEqualTo(order.getVersion() + 1);
+    }
+
+    @Test
+    void competingTransitions_ShouldNeverLoseAnUpdate() throws Exception {
+        OrderStatus[] targets = {OrderStatus.PROCESSING, OrderStatus.COMPLETED, OrderStatus.CANCELLED};
+        List<Outcome> outcomes = hammer(i -> targets[i % targets.length]);
+
+        long applied = outcomes.stream().filter(Outcome.APPLIED::equals).count();
+        assertThat(outcomes).doesNotContain(Outcome.FAILED);
+        // At most NEW -> PROCESSING -> COMPLETED -> CANCELLED can happen, and every applied change bumps the version once.
+        assertThat(applied).isBetween(1L, 3L);
+
+        Order reloaded = orderRepository.findById(order.getId()).orElseThrow();
+        assertThat(reloaded.getVersion()).isEqualTo(order.getVersion() + applied);
+    }
+
+    private List<Outcome> hammer(java.util.function.IntFunction<OrderStatus> targetForThread) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Outcome>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                OrderStatus target = targetForThread.apply(i);
+                Callable<Outcome> attempt = () -> {
+                    start.await();
+                    try {
+                        orderService.updateOrderStatus(order.getId(), target, customer.getId());
+                        return Outcome.APPLIED;
+                    } catch (IllegalStatusTransitionException | ObjectOptimisticLockingFailureException e) {
+                        return Outcome.REJECTED;
+                    } catch (RuntimeException e) {
+                        return Outcome.FAILED;
+                    }
+                };
+                futures.add(executor.submit(attempt));
+            }
+            start.countDown();
+
+            List<Outcome> outcomes = new ArrayList<>();
+            for (Future<Outcome> future : futures) {
+                outcomes.add(future.get(30, TimeUnit.SECONDS));
+            }
+            return outcomes;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private enum Outcome {
+        APPLIED, REJECTED, FAILED
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.simplecrm.service;
+
+import com.example.simplecrm.dto.order.OrderRequestDTO;
+import com.example.simplecrm.dto.order.OrderResponseDTO;
+import com.example.simplecrm.dto.order.OrderSummaryDTO;
+import com.example.simplecrm.model.Customer;
+import com.example.simplecrm.model.OrderStatus;
+import com.example.simplecrm.repository.CustomerRepository;
+import com.example.simplecrm.repository.OrderRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:order-summary;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "simplecrm.orders.summary.materialized=true"
+})
+@ActiveProfiles("test")
+class OrderSummaryServiceTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderSummaryService orderSummaryService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Customer customer;
+
+    @BeforeEach
+    void seed() {
+        customer = new Customer();
+        customer.setName("Bob");
+        customer.setEmail("bob@mail.com");
+        customer.setPhone("+1234567");
+        customer = customerRepository.save(customer);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from order_summary");
+        orderRepository.deleteAllInBatch();
+        customerRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void getSummary_ShouldMatchAggregate_AfterCreatesAndTransitions() {
+        OrderResponseDTO first = orderService.createOrder(request("10.50"));
+        List<OrderResponseDTO> batch = orderService.createOrders(List.of(request("1.25"), request("2.00"), request("100")))
+                .getCreated();
+        orderService.updateOrderStatus(first.getId(), OrderStatus.PROCESSING, customer.getId());
+        orderService.updateOrderStatus(first.getId(), OrderStatus.COMPLETED, customer.getId());
+        orderService.updateOrderStatus(batch.get(0).getId(), OrderStatus.CANCELLED, customer.getId());
+        orderService.updateOrderStatus(batch.get(1).getId(), OrderStatus.PROCESSING, customer.getId());
+        orderService.updateOrderStatus(batch.get(1).getId(), OrderStatus.CANCELLED, customer.getId());
+
+        OrderSummaryDTO summary = orderSummaryService.getSummary(customer.getId());
+
+        assertThat(summary.getOrderCount()).isEqualTo(4);
+        assertThat(summary.getTotalAmount()).isEqualByComparingTo("113.75");
+        assertThat(summary.getByStatus().get(OrderStatus.NEW).getCount()).isEqualTo(1);
+        assertThat(summary.getByStatus().get(OrderStatus.NEW).getAmount()).isEqualByComparingTo("100");
+        assertThat(summary.getByStatus().get(OrderStatus.PROCESSING).getCount()).isZero();
+        assertThat(summary.getByStatus().get(OrderStatus.COMPLETED).getAmount()).isEqualByComparingTo("10.50");
+        assertThat(summary.getByStatus().get(OrderStatus.CANCELLED).getCount()).isEqualTo(2);
+        assertThat(summary.getByStatus().get(OrderStatus.CANCELLED).getAmount()).isEqualByComparingTo("3.25");
+
+        List<OrderRepository.StatusTotals> aggregated = orderRepository.summarizeByCustomerId(customer.getId());
+        assertThat(aggregated).allSatisfy(row -> {
+            assertThat(summary.getByStatus().get(row.getStatus()).getCount()).isEqualTo(row.getOrderCount());
+            assertThat(summary.getByStatus().get(row.getStatus()).getAmount()).isEqualByComparingTo(row.getTotalAmount());
+        });
+        assertThat(summary.getFirstOrderAt()).isEqualTo(aggregated.stream()
+                .map(OrderRepository.StatusTotals::getFirstCreatedAt).min(Comparable::compareTo).orElseThrow());
+        assertThat(summary.getLastOrderAt()).isEqualTo(aggregated.stream()
+                .map(OrderRepository.StatusTotals::getLastCreatedAt).max(Comparable::compareTo).orElseThrow());
+    }
+
+    @Test
+    void getSummary_ShouldReturnZeroTotals_WhenCustomerHasNoOrders() {
+        OrderSummaryDTO summary = orderSummaryService.getSummary(customer.getId());
+
+        assertThat(summary.getOrderCount()).isZero();
+        assertThat(summary.getTotalAmount()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(summary.getFirstOrderAt()).isNull();
+        assertThat(summary.getByStatus()).containsOnlyKeys(OrderStatus.values());
+    }
+
+    private OrderRequestDTO request(String amount) {
+        OrderRequestDTO request = new OrderRequestDTO();
+        request.setDescription("Order");
+        request.setAmount(new BigDecimal(amount));
+        request.setCustomerId(customer.getId());
+        return request;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.simplecrm.sql;
+
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * MockMvc matchers for the SQL statistics headers written in the {@code debug} profile, so a test
+ * can pin how many statements an endpoint may issue and an N+1 regression fails the build.
+ */
+public final class QueryBudget {
+
+    private QueryBudget() {
+    }
+
+    public static ResultMatcher atMost(int statements) {
+        return result -> assertThat(statements(result.getResponse()))
+                .as("SQL statements for %s %s", result.getRequest().getMethod(), result.getRequest().getRequestURI())
+                .isLessThanOrEqualTo(statements);
+    }
+
+    public static ResultMatcher exactly(int statements) {
+        return result -> assertThat(statements(result.getResponse()))
+                .as("SQL statements for %s %s", result.getRequest().getMethod(), result.getRequest().getRequestURI())
+                .isEqualTo(statements);
+    }
+
+    public static ResultMatcher rowsAtMost(long rows) {
+        return result -> assertThat(header(result.getResponse(), SqlStatisticsResponseAdvice.ROWS_HEADER))
+                .as("Rows fetched for %s %s", result.getRequest().getMethod(), result.getRequest().getRequestURI())
+                .isLessThanOrEqualTo(rows);
+    }
+
+    private static int statements(MockHttpServletResponse response) {
+        return (int) header(response, SqlStatisticsResponseAdvice.STATEMENTS_HEADER);
+    }
+
+    private static long header(MockHttpServletResponse response, String name) {
+        String value = response.getHeader(name);
+        assertThat(value).as("%s header (is the 'debug' profile active?)", name).isNotNull();
+        return Long.parseLong(value);
+    }
+}
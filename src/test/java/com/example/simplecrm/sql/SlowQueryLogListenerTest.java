@@ -0,0 +1,75 @@
+package com.example.simplecrm.sql;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(OutputCaptureExtension.class)
+class SlowQueryLogListenerTest {
+
+    private static final String SQL = "select id, name from customer where id = ? and email = ?";
+
+    @AfterEach
+    void clearRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void slowQuery_ShouldBeLoggedWithBindCountAndEndpoint(CapturedOutput output) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/customers/7");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/customers/{id}");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        new SlowQueryLogListener(Duration.ofMillis(100), 0).afterQuery(execution(250), List.of(query()));
+
+        assertThat(output).contains("slow query: 250 ms, 2 binds, endpoint GET /api/customers/{id}, sql: " + SQL);
+        assertThat(output).doesNotContain("secret@mail.com");
+    }
+
+    @Test
+    void fastQuery_ShouldNotBeLoggedWithoutSampling(CapturedOutput output) {
+        new SlowQueryLogListener(Duration.ofMillis(100), 0).afterQuery(execution(5), List.of(query()));
+
+        assertThat(output).doesNotContain(SQL);
+    }
+
+    @Test
+    void fastQuery_ShouldBeLoggedWhenSampled(CapturedOutput output) {
+        new SlowQueryLogListener(Duration.ofMillis(100), 1.0).afterQuery(execution(5), List.of(query()));
+
+        assertThat(output).contains("sampled query: 5 ms, 2 binds, endpoint [main]");
+    }
+
+    private static ExecutionInfo execution(long elapsedMillis) {
+        ExecutionInfo info = new ExecutionInfo();
+        info.setElapsedTime(elapsedMillis);
+        return info;
+    }
+
+    private static QueryInfo query() {
+        QueryInfo query = new QueryInfo(SQL);
+        try {
+            query.getParametersList().add(List.of(
+                    new ParameterSetOperation(PreparedStatement.class.getMethod("setLong", int.class, long.class), new Object[]{1, 7L}),
+                    new ParameterSetOperation(PreparedStatement.class.getMethod("setString", int.class, String.class), new Object[]{2, "secret@mail.com"})));
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+        return query;
+    }
+}